@@ -0,0 +1,101 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.benchmarks;
+
+import io.spine.examples.blog.BlogId;
+import io.spine.examples.blog.PostId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static io.spine.examples.blog.benchmarks.BlogState.createBlogCommand;
+
+/**
+ * Measures the throughput and the latency of handling the Blog commands.
+ *
+ * <p>Each benchmark posts a command and waits until the context handles it along with all
+ * the reactions and projection updates it causes:
+ * <ul>
+ *     <li>{@code createBlog} — {@code BlogAggregate} handles {@code CreateBlog}, and
+ *         {@code BlogViewProjection} receives {@code BlogCreated};
+ *     <li>{@code createPost} — {@code PostAggregate} handles {@code CreatePost}, and
+ *         {@code BlogAggregate} reacts on {@code PostCreated} with {@code PostAdded};
+ *     <li>{@code publishPost} — {@code PostAggregate} handles {@code PublishPost},
+ *         {@code BlogAggregate} reacts with {@code PostListed}, and the {@code BlogView},
+ *         {@code BlogPage}, and {@code PostBody} projections are updated.
+ * </ul>
+ *
+ * <p>The {@linkplain BlogState blog} is seeded anew before each iteration. The iterations are
+ * short to limit the growth of the blog by the posts the benchmarks add within an iteration.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class BlogContextBenchmark {
+
+    @Benchmark
+    public void createBlog(BlogState state) {
+        state.post(createBlogCommand(BlogId.generate()));
+    }
+
+    @Benchmark
+    public void createPost(BlogState state) {
+        state.post(state.createPostCommand(PostId.generate()));
+    }
+
+    @Benchmark
+    public void publishPost(BlogState state, Draft draft) {
+        state.post(state.publishPostCommand(draft.post));
+    }
+
+    /**
+     * A draft post created before each invocation of a benchmark.
+     */
+    @State(Scope.Thread)
+    public static class Draft {
+
+        private PostId post;
+
+        @Setup(Level.Invocation)
+        public void createDraft(BlogState state) {
+            post = PostId.generate();
+            state.post(state.createPostCommand(post));
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.benchmarks;
+
+import com.google.common.base.Strings;
+import io.spine.base.CommandMessage;
+import io.spine.client.ActorRequestFactory;
+import io.spine.core.Command;
+import io.spine.core.UserId;
+import io.spine.examples.blog.BlogContext;
+import io.spine.examples.blog.BlogId;
+import io.spine.examples.blog.PostId;
+import io.spine.examples.blog.commands.CreateBlog;
+import io.spine.examples.blog.commands.CreatePost;
+import io.spine.examples.blog.commands.PublishPost;
+import io.spine.server.BoundedContext;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import static io.spine.grpc.StreamObservers.noOpObserver;
+
+/**
+ * A Blog context with a single blog filled with published posts.
+ *
+ * <p>The number of the posts and the size of their bodies are the parameters of the benchmarks.
+ *
+ * <p>The benchmarks add posts to the blog, so a fresh context with a fresh blog is created
+ * before each iteration. Within an iteration, the blog grows by the posts created in it.
+ */
+@State(Scope.Benchmark)
+public class BlogState {
+
+    /** The number of posts published in the blog before each iteration. */
+    @Param({"0", "1000", "10000"})
+    int blogSize;
+
+    /** The number of characters in the body of each post. */
+    @Param({"100", "10000"})
+    int bodySize;
+
+    private final ActorRequestFactory requests = ActorRequestFactory
+            .newBuilder()
+            .setActor(UserId.newBuilder()
+                            .setValue("benchmark")
+                            .build())
+            .build();
+
+    private BoundedContext context;
+    private BlogId blog;
+    private String body;
+
+    @Setup(Level.Iteration)
+    public void createBlog() {
+        context = BlogContext.builder()
+                             .build();
+        blog = BlogId.generate();
+        body = Strings.repeat("b", bodySize);
+        post(createBlogCommand(blog));
+        for (int i = 0; i < blogSize; i++) {
+            PostId post = PostId.generate();
+            post(createPostCommand(post));
+            post(publishPostCommand(post));
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void closeContext() throws Exception {
+        context.close();
+    }
+
+    /**
+     * Posts the command to the context and waits until it is handled.
+     */
+    void post(CommandMessage message) {
+        Command command = requests.command()
+                                  .create(message);
+        context.commandBus()
+               .post(command, noOpObserver());
+    }
+
+    static CreateBlog createBlogCommand(BlogId id) {
+        return CreateBlog
+                .newBuilder()
+                .setId(id)
+                .setTitle("Benchmark blog")
+                .vBuild();
+    }
+
+    CreatePost createPostCommand(PostId post) {
+        return CreatePost
+                .newBuilder()
+                .setId(post)
+                .setBlog(blog)
+                .setTitle("Benchmark post")
+                .setBody(body)
+                .vBuild();
+    }
+
+    PublishPost publishPostCommand(PostId post) {
+        return PublishPost
+                .newBuilder()
+                .setPost(post)
+                .setBlog(blog)
+                .vBuild();
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.benchmarks;
+
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
+import io.spine.base.CommandMessage;
+import io.spine.client.ActorRequestFactory;
+import io.spine.core.Command;
+import io.spine.core.UserId;
+import io.spine.examples.blog.BlogContext;
+import io.spine.examples.blog.BlogId;
+import io.spine.examples.blog.PostId;
+import io.spine.examples.blog.commands.CreatePost;
+import io.spine.examples.blog.commands.PublishPost;
+import io.spine.examples.blog.server.journal.CommandJournal;
+import io.spine.server.BoundedContext;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.spine.examples.blog.benchmarks.BlogState.createBlogCommand;
+
+/**
+ * A command journal with a single blog filled with published posts.
+ *
+ * <p>The journal is recorded once per trial in a temporary directory. Each post takes two
+ * commands, {@code CreatePost} and {@code PublishPost}.
+ */
+@State(Scope.Benchmark)
+public class JournalState {
+
+    private static final int BATCH_SIZE = 1_000;
+
+    /** The number of posts published in the recorded blog. */
+    @Param({"10000", "100000"})
+    int postCount;
+
+    private final ActorRequestFactory requests = ActorRequestFactory
+            .newBuilder()
+            .setActor(UserId.newBuilder()
+                            .setValue("benchmark")
+                            .build())
+            .build();
+
+    private Path directory;
+
+    @Setup(Level.Trial)
+    public void recordJournal() throws IOException {
+        directory = Files.createTempDirectory("blog-journal");
+        BlogId blog = BlogId.generate();
+        try (CommandJournal journal = CommandJournal.open(directory)) {
+            List<Command> batch = new ArrayList<>();
+            batch.add(command(createBlogCommand(blog)));
+            for (int i = 0; i < postCount; i++) {
+                PostId post = PostId.generate();
+                batch.add(command(createPostCommand(blog, post)));
+                batch.add(command(publishPostCommand(blog, post)));
+                if (batch.size() >= BATCH_SIZE) {
+                    journal.record(batch);
+                    batch.clear();
+                }
+            }
+            journal.record(batch);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteJournal() throws IOException {
+        MoreFiles.deleteRecursively(directory, RecursiveDeleteOption.ALLOW_INSECURE);
+    }
+
+    /**
+     * Restores a fresh Blog context from the journal and closes it.
+     */
+    void replay() throws Exception {
+        try (CommandJournal journal = CommandJournal.open(directory)) {
+            BoundedContext context = BlogContext.create(BlogContext.builder(), journal);
+            context.close();
+        }
+    }
+
+    private Command command(CommandMessage message) {
+        return requests.command()
+                       .create(message);
+    }
+
+    private static CreatePost createPostCommand(BlogId blog, PostId post) {
+        return CreatePost
+                .newBuilder()
+                .setId(post)
+                .setBlog(blog)
+                .setTitle("Benchmark post")
+                .setBody("Benchmark post body.")
+                .vBuild();
+    }
+
+    private static PublishPost publishPostCommand(BlogId blog, PostId post) {
+        return PublishPost
+                .newBuilder()
+                .setPost(post)
+                .setBlog(blog)
+                .vBuild();
+    }
+}
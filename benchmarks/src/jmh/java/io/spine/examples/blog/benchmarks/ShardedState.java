@@ -0,0 +1,105 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.benchmarks;
+
+import io.spine.base.CommandMessage;
+import io.spine.client.ActorRequestFactory;
+import io.spine.core.Command;
+import io.spine.core.UserId;
+import io.spine.core.Version;
+import io.spine.examples.blog.BlogContext;
+import io.spine.examples.blog.BlogId;
+import io.spine.examples.blog.BlogView;
+import io.spine.server.BoundedContext;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.CountDownLatch;
+
+import static io.spine.examples.blog.benchmarks.BlogState.createBlogCommand;
+import static io.spine.grpc.StreamObservers.noOpObserver;
+
+/**
+ * A Blog context which delivers the messages to the entities by the given number of shards.
+ */
+@State(Scope.Benchmark)
+public class ShardedState {
+
+    /** The number of shards. A single shard is delivered synchronously. */
+    @Param({"1", "2", "4", "8"})
+    int shards;
+
+    private final ActorRequestFactory requests = ActorRequestFactory
+            .newBuilder()
+            .setActor(UserId.newBuilder()
+                            .setValue("benchmark")
+                            .build())
+            .build();
+
+    private BoundedContext context;
+    private volatile CountDownLatch pending = new CountDownLatch(0);
+
+    @Setup(Level.Trial)
+    public void createContext() {
+        System.setProperty(BlogContext.SHARDS_PROPERTY, String.valueOf(shards));
+        context = BlogContext.builder(this::onStored)
+                             .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void closeContext() throws Exception {
+        context.close();
+    }
+
+    /**
+     * Creates the given number of blogs and waits until their views are stored.
+     */
+    void createBlogs(int count) throws InterruptedException {
+        CountDownLatch created = new CountDownLatch(count);
+        pending = created;
+        for (int i = 0; i < count; i++) {
+            post(createBlogCommand(BlogId.generate()));
+        }
+        created.await();
+    }
+
+    private void post(CommandMessage message) {
+        Command command = requests.command()
+                                  .create(message);
+        context.commandBus()
+               .post(command, noOpObserver());
+    }
+
+    @SuppressWarnings("unused") // The parameters are required by `BlogViewListener`.
+    private void onStored(BlogView view, Version version) {
+        pending.countDown();
+    }
+}
@@ -41,9 +41,12 @@ abstract class Client {
     /// Fetches all the `Blog`s.
     Stream<Blog> fetchBlogs();
 
-    /// Fetches a single `Blog` with all of its `Post`s.
+    /// Fetches a single `Blog` with summaries of its latest `Post`s.
     Future<BlogView> fetchBlogWithPosts(BlogId id);
 
+    /// Fetches the content of a published `Post`.
+    Future<PostBody> fetchPostBody(PostId id);
+
     /// Posts the given command message.
     Future<void> post(GeneratedMessage command);
 
@@ -82,6 +85,10 @@ class NetworkClient extends Client {
     Future<BlogView> fetchBlogWithPosts(BlogId id) =>
         _client.select<BlogView>().whereIds([id]).post().first;
 
+    @override
+    Future<PostBody> fetchPostBody(PostId id) =>
+        _client.select<PostBody>().whereIds([id]).post().first;
+
     @override
     Future<void> post(GeneratedMessage command) => _client.command(command).postAndForget();
 
@@ -113,10 +120,11 @@ class FakeClient extends Client {
             ..id = id
             ..title = 'Blog ${id.uuid}'
             ..post.addAll([
-                PostItem()
+                PostSummary()
                     ..id = (PostId()..uuid = '${id.uuid}-1')
                     ..title = 'Blog entry ${_rand.nextInt(10)}'
-                    ..body = 'Lorem ipsum dolor sit amet, consectetur adipiscing elit. Aenean ut '
+                    ..bodyLength = 642
+                    ..excerpt = 'Lorem ipsum dolor sit amet, consectetur adipiscing elit. Aenean ut '
                         'mollis dui. Pellentesque ac vehicula eros. Mauris eu pulvinar nibh, ut '
                         'mollis elit. Pellentesque blandit tristique magna at volutpat. Quisque '
                         'velit lectus, auctor in rutrum sit amet, rutrum posuere enim. Aenean '
@@ -127,10 +135,11 @@ class FakeClient extends Client {
                         'a ipsum tempor, et dapibus justo consequat. Nullam nec tempus felis. Orci '
                         'varius natoque penatibus et magnis dis parturient montes, nascetur '
                         'ridiculus mus.',
-                PostItem()
+                PostSummary()
                     ..id = (PostId()..uuid = '${id.uuid}-2')
                     ..title = 'Blog entry ${_rand.nextInt(10)}'
-                    ..body = 'Phasellus sapien augue, sagittis ac lectus vitae, venenatis tempus '
+                    ..bodyLength = 694
+                    ..excerpt = 'Phasellus sapien augue, sagittis ac lectus vitae, venenatis tempus '
                         'dui. Donec et libero sed eros vulputate facilisis in quis nulla. Quisque '
                         'eget nisi mollis, rutrum nisl sit amet, sollicitudin eros. Pellentesque '
                         'pellentesque rutrum dui vel scelerisque. Suspendisse nisl eros, placerat '
@@ -144,6 +153,15 @@ class FakeClient extends Client {
             ]);
     }
 
+    @override
+    Future<PostBody> fetchPostBody(PostId id) async {
+        return PostBody()
+            ..id = id
+            ..body = 'Lorem ipsum dolor sit amet, consectetur adipiscing elit. Aenean ut '
+                'mollis dui. Pellentesque ac vehicula eros. Mauris eu pulvinar nibh, ut '
+                'mollis elit.';
+    }
+
     @override
     Stream<Blog> fetchBlogs() {
         var blogIdA = BlogId()..uuid = _rand.nextInt(314).toString();
@@ -153,24 +171,15 @@ class FakeClient extends Client {
             Blog()
                 ..id = blogIdA
                 ..title = 'Blog ${blogIdA.uuid}'
-                ..post.addAll([
-                    PostId()..uuid = '${blogIdA.uuid}-1',
-                    PostId()..uuid = '${blogIdA.uuid}-2'
-                ]),
+                ..postCount = 2,
             Blog()
                 ..id = blogIdB
                 ..title = 'Blog ${blogIdB.uuid}'
-                ..post.addAll([
-                    PostId()..uuid = '${blogIdB.uuid}-1',
-                    PostId()..uuid = '${blogIdB.uuid}-2'
-                ]),
+                ..postCount = 2,
             Blog()
                 ..id = blogIdC
                 ..title = 'Blog ${blogIdC.uuid}'
-                ..post.addAll([
-                    PostId()..uuid = '${blogIdC.uuid}-1',
-                    PostId()..uuid = '${blogIdC.uuid}-2'
-                ]),
+                ..postCount = 2,
         ]);
     }
 
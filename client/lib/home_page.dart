@@ -191,13 +191,13 @@ class _BlogPageState extends State<BlogHomePage> {
 
     List<Widget> _displayBlog(Blog blog) => [
           Text(blog.title, textScaleFactor: 1.5),
-          Text('${blog.post.length} posts', textScaleFactor: 0.75)
+          Text('${blog.postCount} posts', textScaleFactor: 0.75)
     ];
 
     List<Widget> _bakePosts() => displayedBlog!.post.expand(_displayPost).toList(growable: false);
 
-    List<Widget> _displayPost(PostItem post) =>
-        [Text(post.title, textScaleFactor: 1.5, softWrap: true), Text(post.body, softWrap: true)];
+    List<Widget> _displayPost(PostSummary post) =>
+        [Text(post.title, textScaleFactor: 1.5, softWrap: true), Text(post.excerpt, softWrap: true)];
 
     Widget _empty(String text) =>
         Center(child: Text(text, style: TextStyle(color: Colors.blueGrey, fontSize: 30)));
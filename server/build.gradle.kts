@@ -30,8 +30,11 @@ plugins {
 
 spine.enableJava().server()
 
+val hdrHistogramVersion: String by extra
+
 dependencies {
     implementation(project(":model"))
+    implementation("org.hdrhistogram:HdrHistogram:${hdrHistogramVersion}")
 }
 
 application {
@@ -43,3 +46,11 @@ tasks.withType(JavaExec::class) {
     @Suppress("UNCHECKED_CAST")
     systemProperties(System.getProperties() as Map<String, *>)
 }
+
+val importPosts by tasks.registering(JavaExec::class) {
+    group = "application"
+    description = "Imports blogs and posts from the file set by the `importFile` property."
+    classpath = sourceSets.main.get().runtimeClasspath
+    main = "io.spine.examples.blog.server.bulk.BulkImport"
+    args(findProperty("importFile") ?: "")
+}
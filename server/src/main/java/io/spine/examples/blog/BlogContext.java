@@ -26,35 +26,192 @@
 
 package io.spine.examples.blog;
 
+import com.google.common.collect.ImmutableSet;
 import io.spine.base.Environment;
+import io.spine.examples.blog.server.blog.BlogPageRepository;
 import io.spine.examples.blog.server.blog.BlogRepository;
+import io.spine.examples.blog.server.blog.BlogViewListener;
 import io.spine.examples.blog.server.blog.BlogViewRepository;
-import io.spine.examples.blog.server.post.PostAggregate;
+import io.spine.examples.blog.server.dedup.DuplicateCommandFilter;
+import io.spine.examples.blog.server.delivery.ShardedDelivery;
+import io.spine.examples.blog.server.journal.CommandJournal;
+import io.spine.examples.blog.server.post.PostBodyProjection;
+import io.spine.examples.blog.server.post.PostRepository;
 import io.spine.server.BoundedContext;
 import io.spine.server.BoundedContextBuilder;
 import io.spine.server.ServerEnvironment;
+import io.spine.server.delivery.Delivery;
 import io.spine.server.storage.memory.InMemoryStorageFactory;
 import io.spine.server.transport.memory.InMemoryTransportFactory;
+import io.spine.type.TypeUrl;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Optional;
 
 public final class BlogContext {
 
+    /**
+     * The name of the system property which selects the storage of the context.
+     *
+     * <p>The supported values are {@code memory}, which is the default, and {@code journal}.
+     * Both keep the entities in the {@link InMemoryStorageFactory}. The {@code journal} storage
+     * also records the commands handled by the context in a {@link CommandJournal} on the disk,
+     * and restores the context from it on start.
+     *
+     * <p>There is no disk-backed storage of the entities. The dataset is bounded by the heap,
+     * and the entities are not indexed on the disk.
+     */
+    public static final String STORAGE_PROPERTY = "io.spine.examples.blog.storage";
+
+    /**
+     * The name of the system property which defines the directory of the {@code journal}
+     * storage.
+     */
+    public static final String STORAGE_DIR_PROPERTY = "io.spine.examples.blog.storage.dir";
+
+    /**
+     * The name of the system property which defines the number of shards to deliver
+     * the messages to the entities in parallel.
+     *
+     * <p>By default, the messages are delivered in a single shard, synchronously with posting
+     * the commands.
+     */
+    public static final String SHARDS_PROPERTY = "io.spine.examples.blog.shards";
+
+    /**
+     * The name of the system property which defines the delivery window in milliseconds.
+     *
+     * <p>The messages of a {@link Blog} aggregate which arrive within the window are delivered
+     * together, so that they are handled in a single transaction. The messages of the other
+     * entities are not delayed. By default, there is no window.
+     */
+    public static final String DELIVERY_WINDOW_PROPERTY = "io.spine.examples.blog.delivery.window";
+
+    private static final String JOURNAL_STORAGE = "journal";
+    private static final String DEFAULT_STORAGE_DIR = "blog-data";
+
     /**
      * Prevents direct instantiation.
      */
     private BlogContext() {
     }
 
-    public static BoundedContextBuilder builder() {
+    /**
+     * Creates a builder of the Blog context.
+     *
+     * <p>Unless disabled by the {@value DuplicateCommandFilter#WINDOW_PROPERTY} system property,
+     * the commands posted again with the same ID are {@linkplain DuplicateCommandFilter dropped}.
+     *
+     * <p>If the messages are delivered by {@linkplain #SHARDS_PROPERTY shards}, the workers of
+     * the delivery are stopped when the context built by the builder is closed.
+     *
+     * <p>In the {@linkplain BlogViewRepository#isWriteBehind() write-behind} mode, the changed
+     * views held in memory are written when the context is closed.
+     *
+     * @param viewListeners
+     *         the listeners of the changes of {@link BlogView}s
+     */
+    public static BoundedContextBuilder builder(BlogViewListener... viewListeners) {
         Environment env = Environment.instance();
         ServerEnvironment
                 .when(env.type())
                 .use(InMemoryStorageFactory.newInstance())
                 .use(InMemoryTransportFactory.newInstance());
+        Optional<ShardedDelivery> delivery =
+                configureDelivery(env,
+                                  Integer.getInteger(SHARDS_PROPERTY, 1),
+                                  Duration.ofMillis(Long.getLong(DELIVERY_WINDOW_PROPERTY, 0L)));
+        BlogRepository blogs = new BlogRepository();
+        delivery.ifPresent(blogs::stopOnClose);
 
-        return BoundedContext
+        BlogViewRepository views = new BlogViewRepository();
+        for (BlogViewListener listener : viewListeners) {
+            views.addListener(listener);
+        }
+        BoundedContextBuilder builder = BoundedContext
                 .singleTenant("Blog")
-                .add(new BlogRepository())
-                .add(PostAggregate.class)
-                .add(new BlogViewRepository());
+                .add(blogs)
+                .add(new PostRepository())
+                .add(views)
+                .add(new BlogPageRepository())
+                .add(PostBodyProjection.class)
+                .addEventDispatcher(views.catchUpWatcher());
+        DuplicateCommandFilter.fromProperties()
+                              .ifPresent(filter -> builder
+                                      .addCommandFilter(filter)
+                                      .addEventDispatcher(filter.failureWatcher()));
+        return builder;
+    }
+
+    /**
+     * Installs the delivery of the given number of shards and the delivery window into
+     * the server environment.
+     *
+     * <p>The delivery of the environment is used by the contexts created after it is installed.
+     * A single shard with no window restores the default synchronous delivery. The workers of
+     * a {@link ShardedDelivery} belong to the context being created and are stopped when it is
+     * closed, so that the contexts created earlier keep their own workers.
+     *
+     * <p>The window applies only to the messages of the {@link Blog} aggregates, which a busy
+     * blog receives in bursts. The other entities are delivered at once.
+     *
+     * @return the installed sharded delivery or {@code Optional.empty()} if the default delivery
+     *         is used
+     */
+    private static synchronized Optional<ShardedDelivery> configureDelivery(Environment env,
+                                                                            int shards,
+                                                                            Duration window) {
+        int shardCount = Math.max(shards, 1);
+        if (shardCount == 1 && window.isZero()) {
+            ServerEnvironment
+                    .when(env.type())
+                    .use(Delivery.local());
+            return Optional.empty();
+        }
+        ShardedDelivery delivery = ShardedDelivery.create(shardCount, window,
+                                                          ImmutableSet.of(TypeUrl.of(Blog.class)));
+        ServerEnvironment
+                .when(env.type())
+                .use(delivery.delivery());
+        return Optional.of(delivery);
+    }
+
+    /**
+     * Opens the command journal of the context if the {@code journal} storage is selected by
+     * the {@value #STORAGE_PROPERTY} system property.
+     *
+     * <p>The journal belongs to the caller, which closes it after closing the context.
+     *
+     * @return the opened journal or {@code Optional.empty()} for the {@code memory} storage
+     */
+    public static Optional<CommandJournal> openJournal() {
+        if (!JOURNAL_STORAGE.equals(System.getProperty(STORAGE_PROPERTY))) {
+            return Optional.empty();
+        }
+        Path directory = Paths.get(System.getProperty(STORAGE_DIR_PROPERTY, DEFAULT_STORAGE_DIR));
+        return Optional.of(CommandJournal.open(directory));
+    }
+
+    /**
+     * Creates the Blog context from the given builder and restores it from the given journal.
+     *
+     * <p>All the commands handled by the context are recorded in the journal. The recorded
+     * commands are {@linkplain CommandJournal#replayTo(BoundedContext) replayed} before
+     * the context is returned. Use the builder to add the components to the context before
+     * it is restored.
+     *
+     * @param builder
+     *         the builder obtained from {@link #builder(BlogViewListener...)}
+     * @param journal
+     *         the journal obtained from {@link #openJournal()}
+     */
+    public static BoundedContext create(BoundedContextBuilder builder, CommandJournal journal) {
+        BoundedContext context = builder
+                .addCommandListener(journal)
+                .build();
+        journal.replayTo(context);
+        return context;
     }
 }
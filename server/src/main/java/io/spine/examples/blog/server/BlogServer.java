@@ -27,33 +27,101 @@
 package io.spine.examples.blog.server;
 
 import io.spine.examples.blog.BlogContext;
+import io.spine.examples.blog.server.journal.CommandJournal;
+import io.spine.examples.blog.server.metrics.JmxExporter;
+import io.spine.examples.blog.server.metrics.MetricRegistry;
+import io.spine.examples.blog.server.trace.Tracer;
+import io.spine.server.BoundedContext;
 import io.spine.server.BoundedContextBuilder;
-import io.spine.server.Server;
+import io.spine.server.CommandService;
+import io.spine.server.GrpcContainer;
+import io.spine.server.QueryService;
+import io.spine.server.SubscriptionService;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.io.IOException;
+import java.util.Optional;
 
 import static io.spine.client.ConnectionConstants.DEFAULT_CLIENT_SERVICE_PORT;
 
 /**
  * A local gRPC {@link BlogServer} running the Blog Bounded Context.
  */
-public class BlogServer {
+public final class BlogServer {
 
-    /** Prevents instantiation. */
-    private BlogServer() {
-    }
+    private final BoundedContext context;
+    private final @Nullable CommandJournal journal;
+    private final GrpcContainer container;
 
-    static Server create() {
-        BoundedContextBuilder context = BlogContext.builder();
-        return Server
-                .atPort(DEFAULT_CLIENT_SERVICE_PORT)
-                .add(context)
+    private BlogServer(BoundedContext context, @Nullable CommandJournal journal, int port) {
+        this.context = context;
+        this.journal = journal;
+        this.container = GrpcContainer
+                .atPort(port)
+                .addService(CommandService.newBuilder()
+                                          .add(context)
+                                          .build())
+                .addService(QueryService.newBuilder()
+                                        .add(context)
+                                        .build())
+                .addService(SubscriptionService.newBuilder()
+                                               .add(context)
+                                               .build())
                 .build();
     }
 
-    public static void main(String[] args) throws IOException {
-        Server server = create();
+    /**
+     * Creates a new server with the {@linkplain BlogContext#builder Blog context}.
+     *
+     * <p>If the {@linkplain BlogContext#openJournal() command journal} is enabled, the context is
+     * restored from it, and the server closes the journal on shutdown.
+     *
+     * <p>The {@linkplain MetricRegistry#shared() metrics} of the context are exported via JMX.
+     */
+    static BlogServer create() {
+        JmxExporter.register(MetricRegistry.shared());
+        BoundedContextBuilder builder = BlogContext.builder();
+        Optional<CommandJournal> journal = BlogContext.openJournal();
+        BoundedContext context = journal.map(j -> BlogContext.create(builder, j))
+                                        .orElseGet(builder::build);
+        return new BlogServer(context, journal.orElse(null), DEFAULT_CLIENT_SERVICE_PORT);
+    }
+
+    void start() throws IOException {
+        container.start();
+    }
+
+    void awaitTermination() {
+        container.awaitTermination();
+    }
+
+    /**
+     * Stops the server and closes the Blog context, its journal, and the tracer.
+     */
+    void shutdownAndWait() throws Exception {
+        container.shutdown();
+        close();
+    }
+
+    /**
+     * Closes the Blog context, its journal, and the tracer.
+     *
+     * <p>Closing the context closes its repositories, which write the changes they hold
+     * in memory.
+     */
+    private void close() throws Exception {
+        context.close();
+        if (journal != null) {
+            journal.close();
+        }
+        Tracer.shared()
+              .close();
+    }
+
+    public static void main(String[] args) throws Exception {
+        BlogServer server = create();
         server.start();
         server.awaitTermination();
+        server.close();
     }
 }
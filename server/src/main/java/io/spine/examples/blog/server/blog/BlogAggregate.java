@@ -26,33 +26,73 @@
 
 package io.spine.examples.blog.server.blog;
 
+import io.spine.core.EventContext;
 import io.spine.examples.blog.Blog;
 import io.spine.examples.blog.BlogId;
 import io.spine.examples.blog.commands.CreateBlog;
 import io.spine.examples.blog.events.BlogCreated;
+import io.spine.examples.blog.events.BlogImported;
 import io.spine.examples.blog.events.PostAdded;
 import io.spine.examples.blog.events.PostCreated;
+import io.spine.examples.blog.events.PostListed;
+import io.spine.examples.blog.events.PostPublished;
+import io.spine.examples.blog.server.metrics.Distribution;
+import io.spine.examples.blog.server.metrics.ReplayCounter;
+import io.spine.examples.blog.server.metrics.Timer;
+import io.spine.examples.blog.server.trace.Tracer;
 import io.spine.server.aggregate.Aggregate;
 import io.spine.server.aggregate.Apply;
 import io.spine.server.command.Assign;
 import io.spine.server.event.React;
 
+import static io.spine.examples.blog.server.blog.BlogPages.excerptOf;
+import static io.spine.examples.blog.server.blog.BlogPages.pageOf;
+import static io.spine.examples.blog.server.metrics.BlogMetrics.handler;
+import static io.spine.examples.blog.server.metrics.BlogMetrics.replayedEvents;
+
 /**
  * An aggregate that manages state of the {@link Blog} model.
+ *
+ * <p>The handlers are {@linkplain io.spine.examples.blog.server.metrics.BlogMetrics timed}.
+ * The number of the events replayed to load the aggregate is recorded when it receives its first
+ * message. The listing of a published post is {@linkplain Tracer traced}.
+ *
+ * <p>The events of a blog may be {@linkplain io.spine.examples.blog.server.bulk.BulkImport
+ * imported} in bulk. The blog does not react to the imported events of its posts, since
+ * the events it would produce are imported along with them.
  */
 final class BlogAggregate extends Aggregate<BlogId, Blog, Blog.Builder> {
 
+    private static final Timer createBlog = handler(BlogAggregate.class, CreateBlog.class);
+    private static final Timer postCreated = handler(BlogAggregate.class, PostCreated.class);
+    private static final Timer postPublished = handler(BlogAggregate.class, PostPublished.class);
+    private static final Distribution replays = replayedEvents(BlogAggregate.class);
+    private static final Tracer tracer = Tracer.shared();
+
+    private final ReplayCounter replay = new ReplayCounter(replays);
+
+    /** Tells if the Bloom filter of the blog posts is maintained. */
+    private final boolean postFilter;
+
     BlogAggregate(BlogId id) {
+        this(id, false);
+    }
+
+    BlogAggregate(BlogId id, boolean postFilter) {
         super(id);
+        this.postFilter = postFilter;
     }
 
     @Assign
     BlogCreated handle(CreateBlog c) {
-        return BlogCreated
-                .newBuilder()
-                .setId(c.getId())
-                .setTitle(c.getTitle())
-                .vBuild();
+        return createBlog.call(() -> {
+            replay.record();
+            return BlogCreated
+                    .newBuilder()
+                    .setId(c.getId())
+                    .setTitle(c.getTitle())
+                    .vBuild();
+        });
     }
 
     /**
@@ -60,20 +100,66 @@ final class BlogAggregate extends Aggregate<BlogId, Blog, Blog.Builder> {
      */
     @React
     PostAdded postCreationPolicy(PostCreated e) {
-        return PostAdded
+        return postCreated.call(() -> {
+            replay.record();
+            return PostAdded
+                    .newBuilder()
+                    .setPost(e.getId())
+                    .setBlog(e.getBlog())
+                    .vBuild();
+        });
+    }
+
+    /**
+     * Whenever a post is published, it takes the next position in the blog.
+     *
+     * <p>The position defines the {@linkplain BlogPages page} on which the post is listed.
+     */
+    @React
+    PostListed listingPolicy(PostPublished e, EventContext context) {
+        long start = System.nanoTime();
+        PostListed listed = postPublished.call(() -> list(e));
+        tracer.span(context, e.getPost(), "BlogAggregate.listingPolicy(PostPublished)", start);
+        return listed;
+    }
+
+    private PostListed list(PostPublished e) {
+        replay.record();
+        int position = state().getPublishedCount();
+        String body = e.getBody();
+        return PostListed
                 .newBuilder()
-                .setPost(e.getId())
-                .setBlog(e.getBlog())
+                .setPost(e.getPost())
+                .setPage(pageOf(e.getBlog(), position))
+                .setPosition(position)
+                .setTitle(e.getTitle())
+                .setExcerpt(excerptOf(body))
+                .setBodyLength(body.codePointCount(0, body.length()))
                 .vBuild();
     }
 
-    @Apply
+    @Apply(allowImport = true)
     private void event(BlogCreated e) {
+        replay.applied();
         builder().setTitle(e.getTitle());
     }
 
-    @Apply
+    @Apply(allowImport = true)
     private void event(PostAdded e) {
-        builder().addPost(e.getPost());
+        replay.applied();
+        BlogMembership.add(builder(), e.getPost(), postFilter);
+    }
+
+    @Apply(allowImport = true)
+    private void event(PostListed e) {
+        replay.applied();
+        builder().setPublishedCount(e.getPosition() + 1);
+    }
+
+    @Apply(allowImport = true)
+    private void event(BlogImported e) {
+        replay.applied();
+        builder().setTitle(e.getTitle())
+                 .setPublishedCount(e.getPublishedCount());
     }
 }
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.server.blog;
+
+import com.google.common.hash.Hashing;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
+import io.spine.examples.blog.Blog;
+import io.spine.examples.blog.PostId;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Utilities for working with the compact list of posts of a {@link Blog}.
+ *
+ * <p>The IDs of the posts are stored as {@linkplain #pack(PostId) 16-byte values} one after
+ * another.
+ *
+ * <p>When enabled by the {@value #FILTER_PROPERTY} system property, a Bloom filter accompanies
+ * the IDs to answer negative membership checks without looking through the whole list.
+ * The filter is sized for twice the number of posts and rebuilt at a double size once
+ * the blog outgrows it. To avoid copying the filter on each new post, the latest posts are
+ * added to the filter in batches of {@value #MAX_UNFILTERED}. Until then, they are looked
+ * through on each check.
+ */
+public final class BlogMembership {
+
+    /**
+     * The name of the system property which enables the Bloom filter of the blog posts.
+     */
+    public static final String FILTER_PROPERTY = "io.spine.examples.blog.postFilter";
+
+    /** The number of bytes taken by a packed post ID. */
+    static final int PACKED_ID_SIZE = 16;
+
+    /** The maximum number of the latest posts which are not added to the filter yet. */
+    static final int MAX_UNFILTERED = 64;
+
+    /**
+     * The number of filter bits per post.
+     *
+     * <p>Together with {@link #FILTER_HASHES}, gives about 1% of false positives for a filter
+     * filled up to its capacity.
+     */
+    private static final int BITS_PER_POST = 10;
+
+    /** The number of bits set in the Bloom filter per post. */
+    private static final int FILTER_HASHES = 7;
+
+    /** Prevents instantiation of this utility class. */
+    private BlogMembership() {
+    }
+
+    /**
+     * Adds the post to the blog maintaining or dropping the Bloom filter.
+     *
+     * <p>The filter is maintained by the {@link BlogAggregate}s if the {@value #FILTER_PROPERTY}
+     * system property is {@code true} when their {@link BlogRepository} is created.
+     */
+    static void add(Blog.Builder blog, PostId post, boolean filtered) {
+        blog.setPostIds(blog.getPostIds()
+                            .concat(ByteString.copyFrom(pack(post))))
+            .setPostCount(blog.getPostCount() + 1);
+        if (!filtered) {
+            blog.clearPostFilter()
+                .clearFilteredCount();
+            return;
+        }
+        int unfiltered = blog.getPostCount() - blog.getFilteredCount();
+        if (unfiltered >= MAX_UNFILTERED) {
+            blog.setPostFilter(updatedFilter(blog))
+                .setFilteredCount(blog.getPostCount());
+        }
+    }
+
+    /**
+     * Checks if the post belongs to the blog.
+     */
+    public static boolean contains(Blog blog, PostId post) {
+        ByteBuffer packed = ByteBuffer.wrap(pack(post));
+        long high = packed.getLong();
+        long low = packed.getLong();
+        ByteString filter = blog.getPostFilter();
+        int filtered = filter.isEmpty() ? 0 : blog.getFilteredCount();
+        boolean maybeFiltered = filtered > 0 && hasBits(filter, high, low);
+        int from = maybeFiltered ? 0 : filtered;
+        return find(blog.getPostIds(), from, high, low);
+    }
+
+    /**
+     * Packs the post ID into 16 bytes.
+     *
+     * <p>If the ID is a UUID, its bits are used as is. Otherwise, the 128-bit hash of the ID
+     * is used.
+     */
+    static byte[] pack(PostId post) {
+        String value = post.getUuid();
+        try {
+            UUID uuid = UUID.fromString(value);
+            return ByteBuffer.allocate(PACKED_ID_SIZE)
+                             .putLong(uuid.getMostSignificantBits())
+                             .putLong(uuid.getLeastSignificantBits())
+                             .array();
+        } catch (IllegalArgumentException ignored) {
+            return Hashing.murmur3_128()
+                          .hashString(value, UTF_8)
+                          .asBytes();
+        }
+    }
+
+    /**
+     * Looks through the packed IDs starting from the given post for the ID with the given bits.
+     *
+     * <p>The IDs are compared in place without copying them out of the list.
+     */
+    private static boolean find(ByteString ids, int fromPost, long high, long low) {
+        ByteString.ByteIterator bytes = ids.substring(fromPost * PACKED_ID_SIZE)
+                                           .iterator();
+        while (bytes.hasNext()) {
+            long idHigh = nextLong(bytes);
+            long idLow = nextLong(bytes);
+            if (idHigh == high && idLow == low) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds the unfiltered posts of the blog to its filter.
+     *
+     * <p>If the filter cannot hold all the posts of the blog, a filter of twice the number
+     * of the posts is built from scratch.
+     */
+    private static ByteString updatedFilter(Blog.Builder blog) {
+        ByteString filter = blog.getPostFilter();
+        int count = blog.getPostCount();
+        byte[] bits;
+        int fromPost;
+        if (capacityOf(filter) >= count) {
+            bits = filter.toByteArray();
+            fromPost = blog.getFilteredCount();
+        } else {
+            bits = new byte[(count * 2 * BITS_PER_POST + Byte.SIZE - 1) / Byte.SIZE];
+            fromPost = 0;
+        }
+        ByteString.ByteIterator ids = blog.getPostIds()
+                                          .substring(fromPost * PACKED_ID_SIZE)
+                                          .iterator();
+        long size = bits.length * (long) Byte.SIZE;
+        while (ids.hasNext()) {
+            long high = nextLong(ids);
+            long low = nextLong(ids);
+            for (int i = 0; i < FILTER_HASHES; i++) {
+                int bit = bitOf(high, low, i, size);
+                bits[bit / Byte.SIZE] |= (byte) (1 << (bit % Byte.SIZE));
+            }
+        }
+        return UnsafeByteOperations.unsafeWrap(bits);
+    }
+
+    private static int capacityOf(ByteString filter) {
+        return filter.size() * Byte.SIZE / BITS_PER_POST;
+    }
+
+    private static boolean hasBits(ByteString filter, long high, long low) {
+        long size = filter.size() * (long) Byte.SIZE;
+        for (int i = 0; i < FILTER_HASHES; i++) {
+            int bit = bitOf(high, low, i, size);
+            if ((filter.byteAt(bit / Byte.SIZE) & (1 << (bit % Byte.SIZE))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Obtains the index of the filter bit for the given packed ID and hash number.
+     *
+     * <p>The packed IDs are either random UUIDs or hashes, so their halves are used as
+     * two independent hash values combined by double hashing.
+     */
+    private static int bitOf(long high, long low, int hash, long size) {
+        return (int) Math.floorMod(high + hash * low, size);
+    }
+
+    private static long nextLong(ByteString.ByteIterator bytes) {
+        long value = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            value = (value << Byte.SIZE) | (bytes.nextByte() & 0xFF);
+        }
+        return value;
+    }
+}
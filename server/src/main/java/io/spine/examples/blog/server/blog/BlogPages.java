@@ -0,0 +1,88 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.server.blog;
+
+import io.spine.examples.blog.BlogId;
+import io.spine.examples.blog.BlogPageId;
+import io.spine.examples.blog.PostSummary;
+import io.spine.examples.blog.events.PostListed;
+
+/**
+ * Utilities for splitting published posts of a blog into pages.
+ */
+public final class BlogPages {
+
+    /**
+     * The maximum number of posts on a page.
+     *
+     * <p>The same number of the latest posts is kept in the {@link io.spine.examples.blog.BlogView
+     * BlogView}.
+     */
+    public static final int PAGE_SIZE = 20;
+
+    /**
+     * The maximum number of code points of a post body shown in a {@link PostSummary}.
+     */
+    static final int EXCERPT_LENGTH = 200;
+
+    /** Prevents instantiation of this utility class. */
+    private BlogPages() {
+    }
+
+    /**
+     * Obtains the ID of the page which holds the post at the given position in the blog.
+     */
+    public static BlogPageId pageOf(BlogId blog, int position) {
+        return BlogPageId
+                .newBuilder()
+                .setBlog(blog)
+                .setNumber(position / PAGE_SIZE)
+                .vBuild();
+    }
+
+    /**
+     * Obtains the beginning of the given post body to be shown in a list of posts.
+     */
+    public static String excerptOf(String body) {
+        if (body.codePointCount(0, body.length()) <= EXCERPT_LENGTH) {
+            return body;
+        }
+        int end = body.offsetByCodePoints(0, EXCERPT_LENGTH);
+        return body.substring(0, end);
+    }
+
+    /** Converts the listing event to a post summary. */
+    public static PostSummary toPostSummary(PostListed event) {
+        return PostSummary
+                .newBuilder()
+                .setId(event.getPost())
+                .setTitle(event.getTitle())
+                .setExcerpt(event.getExcerpt())
+                .setBodyLength(event.getBodyLength())
+                .vBuild();
+    }
+}
@@ -26,21 +26,140 @@
 
 package io.spine.examples.blog.server.blog;
 
+import com.google.common.collect.ImmutableSet;
 import io.spine.examples.blog.BlogId;
 import io.spine.examples.blog.events.PostCreated;
-import io.spine.server.aggregate.AggregateRepository;
+import io.spine.examples.blog.events.PostPublished;
+import io.spine.examples.blog.server.cache.CachingAggregateRepository;
+import io.spine.examples.blog.server.delivery.ShardedDelivery;
+import io.spine.server.aggregate.AggregateHistory;
 import io.spine.server.route.EventRouting;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.util.Optional;
+
+import static com.google.common.base.Preconditions.checkArgument;
 import static io.spine.server.route.EventRoute.withId;
 
 /**
  * A repository for {@link BlogAggregate}.
+ *
+ * <p>A blog receives an event per each of its posts. To keep loading of a blog fast, the repository
+ * stores a snapshot of a {@code BlogAggregate} every {@linkplain #snapshotTrigger() N events}.
+ * The number of events is configured via the {@value #SNAPSHOT_TRIGGER_PROPERTY} system property
+ * or passed to the constructor directly.
+ *
+ * <p>The loaded blogs may be {@linkplain CachingAggregateRepository cached}. The size of the cache
+ * is configured via the {@value #CACHE_SIZE_PROPERTY} system property.
+ *
+ * <p>The imported events of the posts are not routed to the blogs, since the events the blogs
+ * would produce in reaction are imported along with them.
+ *
+ * <p>The {@linkplain BlogMembership#FILTER_PROPERTY Bloom filter} of the posts is maintained by
+ * the blogs if enabled when the repository is created.
+ *
+ * <p>If the context delivers the messages by {@linkplain ShardedDelivery shards}, the repository
+ * stops the workers of the delivery when it is closed along with the context.
  */
-public final class BlogRepository extends AggregateRepository<BlogId, BlogAggregate> {
+public final class BlogRepository extends CachingAggregateRepository<BlogId, BlogAggregate> {
+
+    /**
+     * The name of the system property which defines the number of events between snapshots.
+     */
+    public static final String SNAPSHOT_TRIGGER_PROPERTY = "io.spine.examples.blog.snapshotTrigger";
+
+    /**
+     * The number of events between snapshots used if the property is not set.
+     */
+    public static final int DEFAULT_SNAPSHOT_TRIGGER = 100;
+
+    /**
+     * The name of the system property which defines the maximum number of the cached blogs.
+     *
+     * <p>By default, the blogs are not cached.
+     */
+    public static final String CACHE_SIZE_PROPERTY = "io.spine.examples.blog.cache.blogs";
+
+    /** Tells if the blogs maintain the Bloom filter of their posts. */
+    private final boolean postFilter;
+
+    /** The delivery of the context, stopped when the repository is closed. */
+    private @Nullable ShardedDelivery delivery;
+
+    /**
+     * Creates a new repository with the snapshot trigger and the cache size set from
+     * the system properties.
+     */
+    public BlogRepository() {
+        this(Integer.getInteger(SNAPSHOT_TRIGGER_PROPERTY, DEFAULT_SNAPSHOT_TRIGGER));
+    }
+
+    /**
+     * Creates a new repository which makes a snapshot every {@code snapshotTrigger} events.
+     *
+     * <p>The cache size is set from the system property.
+     */
+    public BlogRepository(int snapshotTrigger) {
+        this(snapshotTrigger, Integer.getInteger(CACHE_SIZE_PROPERTY, 0));
+    }
+
+    /**
+     * Creates a new repository which makes a snapshot every {@code snapshotTrigger} events and
+     * caches up to {@code cacheSize} blogs.
+     */
+    public BlogRepository(int snapshotTrigger, int cacheSize) {
+        super(cacheSize);
+        checkArgument(snapshotTrigger > 0,
+                      "The snapshot trigger must be positive, but was %s.", snapshotTrigger);
+        setSnapshotTrigger(snapshotTrigger);
+        this.postFilter = Boolean.getBoolean(BlogMembership.FILTER_PROPERTY);
+    }
+
+    @Override
+    public BlogAggregate create(BlogId id) {
+        return new BlogAggregate(id, postFilter);
+    }
 
     @Override
     protected void setupEventRouting(EventRouting<BlogId> routing) {
         super.setupEventRouting(routing);
-        routing.route(PostCreated.class, (event, context) -> withId(event.getBlog()));
+        routing.route(PostCreated.class,
+                      (event, context) -> context.hasImportContext()
+                                          ? ImmutableSet.of()
+                                          : withId(event.getBlog()))
+               .route(PostPublished.class,
+                      (event, context) -> context.hasImportContext()
+                                          ? ImmutableSet.of()
+                                          : withId(event.getBlog()));
+    }
+
+    /**
+     * Makes the repository stop the workers of the given delivery when it is closed.
+     */
+    public void stopOnClose(ShardedDelivery delivery) {
+        this.delivery = delivery;
+    }
+
+    @Override
+    public void close() {
+        try {
+            super.close();
+        } finally {
+            if (delivery != null) {
+                delivery.shutDown();
+            }
+        }
+    }
+
+    /**
+     * Obtains the number of events replayed on top of the latest snapshot when the blog
+     * with the given ID is loaded.
+     *
+     * <p>Returns zero if there is no such blog.
+     */
+    public int replayLength(BlogId id) {
+        Optional<AggregateHistory> history = aggregateStorage().read(id, snapshotTrigger());
+        return history.map(AggregateHistory::getEventCount)
+                      .orElse(0);
     }
 }
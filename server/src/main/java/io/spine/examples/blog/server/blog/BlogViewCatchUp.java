@@ -0,0 +1,357 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.server.blog;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.protobuf.Timestamp;
+import io.spine.examples.blog.BlogId;
+import io.spine.logging.Logging;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
+import static io.spine.util.Exceptions.newIllegalStateException;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Rebuilds {@link io.spine.examples.blog.BlogView BlogView}s by catching them up with
+ * the history of the events.
+ *
+ * <p>The views are split into chunks of {@linkplain Builder#setChunkSize(int) the given size},
+ * which are caught up in parallel, by at most {@linkplain Builder#setParallelism(int) the given
+ * number} of chunks at a time. A worker {@linkplain Builder#setPause(Duration) pauses} after each
+ * chunk, so that the rebuild leaves room for the live traffic.
+ *
+ * <p>A chunk which is not caught up within {@linkplain Builder#setChunkTimeout(Duration)
+ * the timeout}, or whose catch-up fails, is caught up again, up to
+ * {@linkplain Builder#setChunkAttempts(int) the given number} of attempts. If the last attempt
+ * fails too, so does the rebuild.
+ *
+ * <p>The IDs of the caught up views are written to {@linkplain Builder#setCheckpoint(Path)
+ * the checkpoint file}, if one is set. A rebuild with the same checkpoint skips those views, so
+ * that an interrupted rebuild resumes where it stopped.
+ */
+public final class BlogViewCatchUp implements Logging {
+
+    private static final Comparator<BlogId> ID_ORDER = Comparator.comparing(BlogId::getUuid);
+
+    private final BlogViewRepository repository;
+    private final int chunkSize;
+    private final int parallelism;
+    private final Duration pause;
+    private final Duration chunkTimeout;
+    private final int chunkAttempts;
+    private final @Nullable Path checkpoint;
+    private final AtomicInteger caughtUp = new AtomicInteger();
+    private volatile int total;
+
+    private BlogViewCatchUp(Builder builder) {
+        this.repository = checkNotNull(builder.repository);
+        this.chunkSize = builder.chunkSize;
+        this.parallelism = builder.parallelism;
+        this.pause = builder.pause;
+        this.chunkTimeout = builder.chunkTimeout;
+        this.chunkAttempts = builder.chunkAttempts;
+        this.checkpoint = builder.checkpoint;
+    }
+
+    /**
+     * Creates a new builder of the catch-up.
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * Catches up the views with the given IDs with the events which happened since the given time.
+     *
+     * <p>Returns when all the views are caught up.
+     *
+     * @throws InterruptedException
+     *         if the calling thread is interrupted; the chunks not caught up by then are
+     *         cancelled, and a rerun with the same checkpoint resumes from them
+     * @throws IllegalStateException
+     *         if a chunk is not caught up in all the attempts; a rerun with the same checkpoint
+     *         resumes from the chunks not caught up
+     */
+    public void run(Timestamp since, Collection<BlogId> ids) throws InterruptedException {
+        checkNotNull(since);
+        Set<BlogId> done = readCheckpoint();
+        List<BlogId> pending = new ArrayList<>();
+        for (BlogId id : ids) {
+            if (!done.contains(id)) {
+                pending.add(id);
+            }
+        }
+        pending.sort(ID_ORDER);
+        total = pending.size();
+        caughtUp.set(0);
+        _info().log("Catching up %d views, %d are already caught up.",
+                    pending.size(), ids.size() - pending.size());
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (List<BlogId> chunk : Lists.partition(pending, chunkSize)) {
+            tasks.add(() -> {
+                catchUp(since, chunk);
+                return null;
+            });
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism);
+        try {
+            for (Future<Void> result : pool.invokeAll(tasks)) {
+                result.get();
+            }
+        } catch (ExecutionException e) {
+            throw illegalStateWithCauseOf(e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        _info().log("Caught up %d views.", caughtUp.get());
+    }
+
+    /**
+     * Obtains the number of views caught up by the current run.
+     */
+    public int caughtUpCount() {
+        return caughtUp.get();
+    }
+
+    /**
+     * Obtains the number of views to catch up by the current run.
+     */
+    public int totalCount() {
+        return total;
+    }
+
+    private void catchUp(Timestamp since, List<BlogId> chunk) throws InterruptedException {
+        for (int attempt = 1; !tryCatchUp(since, chunk); attempt++) {
+            if (attempt == chunkAttempts) {
+                throw newIllegalStateException("The %s are not caught up in %d attempts.",
+                                               describe(chunk), chunkAttempts);
+            }
+        }
+        writeCheckpoint(chunk);
+        int count = caughtUp.addAndGet(chunk.size());
+        _info().log("Caught up %d of %d views.", count, total);
+        if (!pause.isZero()) {
+            Thread.sleep(pause.toMillis());
+        }
+    }
+
+    /**
+     * Catches up the chunk waiting for at most the chunk timeout.
+     *
+     * @return {@code true} if the chunk is caught up, {@code false} if the catch-up fails or
+     *         times out
+     */
+    private boolean tryCatchUp(Timestamp since, List<BlogId> chunk) throws InterruptedException {
+        Future<Void> result;
+        try {
+            result = repository.catchUpAndWait(since, ImmutableSet.copyOf(chunk));
+        } catch (RuntimeException e) {
+            _warn().withCause(e)
+                   .log("Unable to start the catch-up of the %s.", describe(chunk));
+            return false;
+        }
+        try {
+            result.get(chunkTimeout.toMillis(), MILLISECONDS);
+            return true;
+        } catch (ExecutionException e) {
+            _warn().withCause(e.getCause())
+                   .log("The catch-up of the %s failed.", describe(chunk));
+        } catch (TimeoutException e) {
+            _warn().log("The catch-up of the %s did not complete in %s.",
+                        describe(chunk), chunkTimeout);
+        }
+        result.cancel(false);
+        return false;
+    }
+
+    private static String describe(List<BlogId> chunk) {
+        BlogId first = chunk.get(0);
+        return String.format("%d views starting with `%s`", chunk.size(), first.getUuid());
+    }
+
+    private Set<BlogId> readCheckpoint() {
+        Set<BlogId> result = new HashSet<>();
+        if (checkpoint == null || !Files.exists(checkpoint)) {
+            return result;
+        }
+        try {
+            for (String uuid : Files.readAllLines(checkpoint, UTF_8)) {
+                if (!uuid.isEmpty()) {
+                    result.add(BlogId.newBuilder()
+                                     .setUuid(uuid)
+                                     .build());
+                }
+            }
+        } catch (IOException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+        return result;
+    }
+
+    private synchronized void writeCheckpoint(List<BlogId> chunk) {
+        if (checkpoint == null) {
+            return;
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(checkpoint, UTF_8, CREATE, APPEND)) {
+            for (BlogId id : chunk) {
+                writer.write(id.getUuid());
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+    }
+
+    /**
+     * A builder of {@code BlogViewCatchUp}.
+     */
+    public static final class Builder {
+
+        private @Nullable BlogViewRepository repository;
+        private int chunkSize = 100;
+        private int parallelism = 2;
+        private Duration pause = Duration.ZERO;
+        private Duration chunkTimeout = Duration.ofMinutes(10);
+        private int chunkAttempts = 2;
+        private @Nullable Path checkpoint;
+
+        /**
+         * Prevents direct instantiation.
+         */
+        private Builder() {
+        }
+
+        /**
+         * Sets the repository of the views to catch up.
+         */
+        public Builder setRepository(BlogViewRepository repository) {
+            this.repository = checkNotNull(repository);
+            return this;
+        }
+
+        /**
+         * Sets the number of views caught up at once.
+         *
+         * <p>The default is 100.
+         */
+        public Builder setChunkSize(int chunkSize) {
+            checkArgument(chunkSize > 0, "The chunk size must be positive.");
+            this.chunkSize = chunkSize;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of chunks caught up at the same time.
+         *
+         * <p>The default is 2.
+         */
+        public Builder setParallelism(int parallelism) {
+            checkArgument(parallelism > 0, "The parallelism must be positive.");
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * Sets the time a worker pauses after catching up a chunk.
+         *
+         * <p>By default, there is no pause.
+         */
+        public Builder setPause(Duration pause) {
+            checkArgument(!pause.isNegative(), "The pause must not be negative.");
+            this.pause = pause;
+            return this;
+        }
+
+        /**
+         * Sets the time to wait for a chunk to be caught up before the attempt is considered
+         * failed.
+         *
+         * <p>The default is 10 minutes.
+         */
+        public Builder setChunkTimeout(Duration chunkTimeout) {
+            checkArgument(!chunkTimeout.isNegative() && !chunkTimeout.isZero(),
+                          "The chunk timeout must be positive.");
+            this.chunkTimeout = chunkTimeout;
+            return this;
+        }
+
+        /**
+         * Sets the number of attempts to catch up a chunk before the rebuild fails.
+         *
+         * <p>The default is 2.
+         */
+        public Builder setChunkAttempts(int chunkAttempts) {
+            checkArgument(chunkAttempts > 0, "The number of attempts must be positive.");
+            this.chunkAttempts = chunkAttempts;
+            return this;
+        }
+
+        /**
+         * Sets the file to record the caught up views to.
+         *
+         * <p>By default, the progress is not recorded.
+         */
+        public Builder setCheckpoint(Path checkpoint) {
+            this.checkpoint = checkNotNull(checkpoint);
+            return this;
+        }
+
+        /**
+         * Creates a new instance of {@code BlogViewCatchUp}.
+         */
+        public BlogViewCatchUp build() {
+            checkNotNull(repository, "The repository must be set.");
+            return new BlogViewCatchUp(this);
+        }
+    }
+}
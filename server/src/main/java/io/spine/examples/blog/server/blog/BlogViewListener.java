@@ -0,0 +1,69 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.server.blog;
+
+import io.spine.core.CommandId;
+import io.spine.core.Version;
+import io.spine.examples.blog.BlogView;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A listener of the changes of {@link BlogView}s.
+ *
+ * <p>The listener is notified after a new state of the view is stored, on the thread which
+ * stored it. Implementations should return quickly.
+ */
+@FunctionalInterface
+public interface BlogViewListener {
+
+    /**
+     * Notifies that the given state of a view has been stored.
+     *
+     * @param view
+     *         the new state of the view
+     * @param version
+     *         the version of the view
+     */
+    void onStored(BlogView view, Version version);
+
+    /**
+     * Notifies that the given state of a view has been stored as a part of a trace.
+     *
+     * <p>By default, ignores the trace and calls {@link #onStored(BlogView, Version)}.
+     *
+     * @param view
+     *         the new state of the view
+     * @param version
+     *         the version of the view
+     * @param tracedCommand
+     *         the command which started the {@linkplain io.spine.examples.blog.server.trace.Tracer
+     *         trace} of the change, or {@code null} if the change is not traced
+     */
+    default void onStored(BlogView view, Version version, @Nullable CommandId tracedCommand) {
+        onStored(view, version);
+    }
+}
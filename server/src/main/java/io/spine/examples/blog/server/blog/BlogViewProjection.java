@@ -26,41 +26,94 @@
 
 package io.spine.examples.blog.server.blog;
 
+import io.spine.core.CommandId;
+import io.spine.core.EventContext;
 import io.spine.core.Subscribe;
 import io.spine.examples.blog.BlogId;
 import io.spine.examples.blog.BlogView;
-import io.spine.examples.blog.PostItem;
+import io.spine.examples.blog.PostSummary;
 import io.spine.examples.blog.events.BlogCreated;
-import io.spine.examples.blog.events.PostPublished;
+import io.spine.examples.blog.events.BlogImported;
+import io.spine.examples.blog.events.PostListed;
+import io.spine.examples.blog.server.metrics.Timer;
+import io.spine.examples.blog.server.trace.Tracer;
 import io.spine.server.projection.Projection;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import static io.spine.examples.blog.server.blog.BlogPages.PAGE_SIZE;
+import static io.spine.examples.blog.server.blog.BlogPages.toPostSummary;
+import static io.spine.examples.blog.server.metrics.BlogMetrics.handler;
 
 /**
- * A projection that represents the current state of a blog and contains published blog posts.
+ * A projection that represents the current state of a blog and contains the latest published
+ * blog posts.
+ *
+ * <p>The view holds at most {@linkplain BlogPages#PAGE_SIZE a page} of posts, so that its size
+ * does not depend on the number of posts in the blog. The whole history of the blog is available
+ * via {@link BlogPageProjection}s.
+ *
+ * <p>The subscribers are {@linkplain io.spine.examples.blog.server.metrics.BlogMetrics timed}.
+ * The listing of a published post is {@linkplain Tracer traced}. The projection remembers
+ * the command which started the trace, so that the repository and the listeners continue it.
  */
 final class BlogViewProjection extends Projection<BlogId, BlogView, BlogView.Builder> {
 
+    private static final Timer blogCreated = handler(BlogViewProjection.class, BlogCreated.class);
+    private static final Timer blogImported =
+            handler(BlogViewProjection.class, BlogImported.class);
+    private static final Timer postListed = handler(BlogViewProjection.class, PostListed.class);
+    private static final Tracer tracer = Tracer.shared();
+
+    private @Nullable CommandId tracedCommand;
+
     BlogViewProjection(BlogId id) {
         super(id);
     }
 
     @Subscribe
     void on(BlogCreated event) {
-        builder().setTitle(event.getTitle());
+        blogCreated.run(() -> builder().setTitle(event.getTitle()));
     }
 
     @Subscribe
-    void on(PostPublished event) {
-        PostItem item = toPostItem(event);
-        builder().addPost(0, item);
+    void on(BlogImported event) {
+        blogImported.run(() -> builder().setTitle(event.getTitle())
+                                        .clearPost()
+                                        .addAllPost(event.getPostList())
+                                        .setPublishedCount(event.getPublishedCount()));
+    }
+
+    @Subscribe
+    void on(PostListed event, EventContext context) {
+        long start = System.nanoTime();
+        postListed.run(() -> list(event));
+        if (tracer.isEnabled()) {
+            tracedCommand = Tracer.rootCommandOf(context)
+                                  .orElse(null);
+        }
+        if (tracedCommand != null) {
+            tracer.span(tracedCommand, event.getPost(), "BlogViewProjection.on(PostListed)",
+                        start);
+        }
+    }
+
+    /**
+     * Obtains the command which started the trace of the last post listed by this instance
+     * of the projection.
+     *
+     * @return the ID of the command, or {@code null} if no traced post was listed
+     */
+    @Nullable CommandId tracedCommand() {
+        return tracedCommand;
     }
 
-    /** Converts publishing event to a post item. */
-    private static PostItem toPostItem(PostPublished event) {
-        return PostItem
-                .newBuilder()
-                .setId(event.getPost())
-                .setTitle(event.getTitle())
-                .setBody(event.getBody())
-                .vBuild();
+    private void list(PostListed event) {
+        PostSummary item = toPostSummary(event);
+        BlogView.Builder view = builder()
+                .addPost(0, item)
+                .setPublishedCount(event.getPosition() + 1);
+        if (view.getPostCount() > PAGE_SIZE) {
+            view.removePost(PAGE_SIZE);
+        }
     }
 }
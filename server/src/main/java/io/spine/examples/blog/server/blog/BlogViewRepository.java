@@ -26,24 +26,450 @@
 
 package io.spine.examples.blog.server.blog;
 
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.protobuf.Timestamp;
+import com.google.protobuf.Any;
+import com.google.protobuf.FieldMask;
+import io.spine.client.ResponseFormat;
+import io.spine.client.TargetFilters;
+import io.spine.core.CommandId;
 import io.spine.examples.blog.BlogId;
 import io.spine.examples.blog.BlogView;
-import io.spine.examples.blog.events.PostPublished;
+import io.spine.examples.blog.events.BlogCreated;
+import io.spine.examples.blog.events.BlogImported;
+import io.spine.examples.blog.events.PostListed;
+import io.spine.examples.blog.server.metrics.MetricId;
+import io.spine.examples.blog.server.metrics.MetricRegistry;
+import io.spine.examples.blog.server.trace.Tracer;
+import io.spine.server.delivery.CatchUpId;
+import io.spine.server.entity.EntityRecord;
+import io.spine.server.entity.FieldMasks;
+import io.spine.server.event.EventDispatcher;
 import io.spine.server.projection.ProjectionRepository;
 import io.spine.server.route.EventRouting;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.protobuf.AnyPacker.pack;
+import static io.spine.protobuf.AnyPacker.unpack;
 import static io.spine.server.route.EventRoute.withId;
 
 /**
  * A repository for {@link BlogViewProjection}.
+ *
+ * <p>Notifies the {@linkplain #addListener(BlogViewListener) listeners} on each change of
+ * a {@link BlogView}. Storing the view with a newly published post is
+ * {@linkplain Tracer traced}.
+ *
+ * <p>The events of the blogs imported in bulk are not routed to the views one by one. A view of
+ * an imported blog is built at once from the {@link BlogImported} event which ends the import of
+ * the blog.
+ *
+ * <p>The views may be {@linkplain #catchUpAndWait(Timestamp, Set) caught up} with the history of
+ * the events, for example, to rebuild them after a change of the projection. For that,
+ * the {@linkplain #catchUpWatcher() watcher} of the catch-up processes must be registered in
+ * the context along with the repository.
+ *
+ * <p>When the {@value #FLUSH_INTERVAL_PROPERTY} system property is set, or a non-zero flush
+ * interval is passed to the constructor, the records of the changed views are kept in memory and
+ * written to the storage later. Thus, several events which change the same view in a short time
+ * cause a single write. The changed views are written:
+ * <ul>
+ *     <li>every flush interval;
+ *     <li>as soon as there are more than {@value #MAX_DIRTY_PROPERTY} of them;
+ *     <li>before the views are caught up;
+ *     <li>when the repository is {@linkplain #close() closed}.
+ * </ul>
+ *
+ * <p>The next event to a changed view is applied to a view restored from the record held in
+ * memory. The queries read the storage and see the records held in memory in place of
+ * the stored ones. The listeners are notified when a view changes, not when it is written.
+ * The number of the views not yet written is reported as the {@code blog_view_dirty}
+ * {@linkplain MetricRegistry#shared() gauge}.
  */
 public final class BlogViewRepository
         extends ProjectionRepository<BlogId, BlogViewProjection, BlogView> {
 
+    /**
+     * The name of the system property which defines the interval in milliseconds between
+     * writing the changed views to the storage.
+     *
+     * <p>By default, the views are written as soon as they change.
+     */
+    public static final String FLUSH_INTERVAL_PROPERTY =
+            "io.spine.examples.blog.views.flushInterval";
+
+    /**
+     * The name of the system property which defines the number of the changed views held in
+     * memory, above which they are written without waiting for the flush interval.
+     */
+    public static final String MAX_DIRTY_PROPERTY = "io.spine.examples.blog.views.maxDirty";
+
+    /**
+     * The number of the changed views held in memory used if the property is not set.
+     */
+    public static final int DEFAULT_MAX_DIRTY = 1_000;
+
+    private final List<BlogViewListener> listeners = new CopyOnWriteArrayList<>();
+    private final CatchUpWatcher catchUpWatcher = new CatchUpWatcher();
+    private final Tracer tracer = Tracer.shared();
+
+    private final Duration flushInterval;
+    private final int maxDirty;
+    private final @Nullable ScheduledExecutorService flusher;
+
+    /** Guards {@link #dirty}. */
+    private final Lock lock = new ReentrantLock();
+
+    /**
+     * Makes the flushes run one at a time, so that an older record of a view is never written
+     * after a newer one.
+     */
+    private final Lock flushing = new ReentrantLock();
+
+    /**
+     * The records of the changed views which are not written yet.
+     *
+     * <p>A record is removed only after it is written, so that a view missing here is always
+     * up to date in the storage.
+     */
+    private final Map<BlogId, EntityRecord> dirty = new HashMap<>();
+
+    /**
+     * Creates a new repository configured by the {@value #FLUSH_INTERVAL_PROPERTY} and
+     * {@value #MAX_DIRTY_PROPERTY} system properties.
+     */
+    public BlogViewRepository() {
+        this(Duration.ofMillis(Long.getLong(FLUSH_INTERVAL_PROPERTY, 0L)),
+             Integer.getInteger(MAX_DIRTY_PROPERTY, DEFAULT_MAX_DIRTY));
+    }
+
+    /**
+     * Creates a new repository.
+     *
+     * @param flushInterval
+     *         the interval between writing the changed views; if zero, the views are written
+     *         as soon as they change
+     * @param maxDirty
+     *         the number of the changed views above which they are written without waiting
+     *         for the flush interval
+     */
+    public BlogViewRepository(Duration flushInterval, int maxDirty) {
+        super();
+        checkNotNull(flushInterval);
+        checkArgument(!flushInterval.isNegative(),
+                      "The flush interval must not be negative, but was %s.", flushInterval);
+        checkArgument(maxDirty > 0,
+                      "The maximum number of dirty views must be positive, but was %s.",
+                      maxDirty);
+        this.flushInterval = flushInterval;
+        this.maxDirty = maxDirty;
+        this.flusher = isWriteBehind() ? startFlusher(flushInterval) : null;
+    }
+
+    @SuppressWarnings("FutureReturnValueIgnored") // Cancelled by shutting down the executor.
+    private ScheduledExecutorService startFlusher(Duration interval) {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder()
+                        .setNameFormat("blog-view-flush")
+                        .setDaemon(true)
+                        .build()
+        );
+        long millis = interval.toMillis();
+        executor.scheduleWithFixedDelay(this::flush, millis, millis, TimeUnit.MILLISECONDS);
+        MetricRegistry.shared()
+                      .gauge(MetricId.of("blog_view_dirty"), this::dirtyCount);
+        return executor;
+    }
+
+    /**
+     * Tells if the changed views are written to the storage later.
+     */
+    public boolean isWriteBehind() {
+        return !flushInterval.isZero();
+    }
+
     @Override
     protected void setupEventRouting(EventRouting<BlogId> routing) {
         super.setupEventRouting(routing);
-        routing.route(PostPublished.class,
-                      (message, context) -> withId(message.getBlog()));
+        routing.route(BlogCreated.class,
+                      (message, context) -> context.hasImportContext()
+                                            ? ImmutableSet.of()
+                                            : withId(message.getId()))
+               .route(PostListed.class,
+                      (message, context) -> context.hasImportContext()
+                                            ? ImmutableSet.of()
+                                            : withId(message.getPage()
+                                                            .getBlog()))
+               .route(BlogImported.class, (message, context) -> withId(message.getId()));
+    }
+
+    /**
+     * Adds a listener to be notified when a view is stored.
+     */
+    public void addListener(BlogViewListener listener) {
+        checkNotNull(listener);
+        listeners.add(listener);
+    }
+
+    /**
+     * Obtains the subscriber which tracks the completion of the catch-up processes.
+     */
+    public EventDispatcher catchUpWatcher() {
+        return catchUpWatcher;
+    }
+
+    /**
+     * Catches up the views with the given IDs with the events which happened since
+     * the given time.
+     *
+     * @return the future which completes when the catch-up completes
+     */
+    public CompletableFuture<Void> catchUpAndWait(Timestamp since, Set<BlogId> ids) {
+        checkNotNull(since);
+        checkNotNull(ids);
+        flush();
+        CatchUpId id = catchUp(since, ids);
+        return catchUpWatcher.completionOf(id);
+    }
+
+    @Override
+    public void store(BlogViewProjection projection) {
+        long start = System.nanoTime();
+        boolean full = false;
+        if (isWriteBehind()) {
+            EntityRecord record = recordOf(projection);
+            lock.lock();
+            try {
+                dirty.put(projection.id(), record);
+                full = dirty.size() > maxDirty;
+            } finally {
+                lock.unlock();
+            }
+        } else {
+            super.store(projection);
+        }
+        BlogView view = projection.state();
+        CommandId traced = projection.tracedCommand();
+        for (BlogViewListener listener : listeners) {
+            listener.onStored(view, projection.version(), traced);
+        }
+        if (traced != null && view.getPostCount() > 0) {
+            tracer.span(traced, view.getPost(0)
+                                    .getId(), "BlogViewRepository.store", start);
+        }
+        if (full) {
+            flush();
+        }
+    }
+
+    /**
+     * Obtains the view with the given ID to apply an event to.
+     *
+     * <p>In the write-behind mode, restores the changed view from the record held in memory,
+     * if any.
+     */
+    @Override
+    public BlogViewProjection findOrCreate(BlogId id) {
+        EntityRecord record = dirtyRecord(id);
+        return record != null ? toEntity(record) : super.findOrCreate(id);
+    }
+
+    /**
+     * Finds the view with the given ID.
+     *
+     * <p>In the write-behind mode, restores the changed view from the record held in memory,
+     * if any. The returned view is a copy, which is not changed by the events.
+     */
+    @Override
+    public Optional<BlogViewProjection> find(BlogId id) {
+        EntityRecord record = dirtyRecord(id);
+        return record != null ? Optional.of(toEntity(record)) : super.find(id);
+    }
+
+    private @Nullable EntityRecord dirtyRecord(BlogId id) {
+        if (!isWriteBehind()) {
+            return null;
+        }
+        lock.lock();
+        try {
+            return dirty.get(id);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Finds the records of the views matching the filters.
+     *
+     * <p>In the write-behind mode, the records of the changed views held in memory replace
+     * the stored ones. The views have no columns, so they are filtered only by their IDs.
+     */
+    @Override
+    public Iterator<EntityRecord> findRecords(TargetFilters filters, ResponseFormat format) {
+        if (!isWriteBehind()) {
+            return super.findRecords(filters, format);
+        }
+        Map<BlogId, EntityRecord> changed = dirtyRecords();
+        Iterator<EntityRecord> stored = super.findRecords(filters, format);
+        return overlay(stored, changed, requestedIds(filters), format);
+    }
+
+    /**
+     * Loads the records of all the views.
+     *
+     * <p>In the write-behind mode, the records of the changed views held in memory replace
+     * the stored ones.
+     */
+    @Override
+    public Iterator<EntityRecord> loadAllRecords(ResponseFormat format) {
+        if (!isWriteBehind()) {
+            return super.loadAllRecords(format);
+        }
+        Map<BlogId, EntityRecord> changed = dirtyRecords();
+        Iterator<EntityRecord> stored = super.loadAllRecords(format);
+        return overlay(stored, changed, null, format);
+    }
+
+    private Map<BlogId, EntityRecord> dirtyRecords() {
+        lock.lock();
+        try {
+            return new HashMap<>(dirty);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Replaces the stored records with the newer records of the changed views, and adds
+     * the requested changed views which are not stored yet.
+     *
+     * @param requested
+     *         the IDs of the requested views, or {@code null} if all the views are requested
+     */
+    private static Iterator<EntityRecord> overlay(Iterator<EntityRecord> stored,
+                                                  Map<BlogId, EntityRecord> changed,
+                                                  @Nullable Set<BlogId> requested,
+                                                  ResponseFormat format) {
+        List<EntityRecord> result = new ArrayList<>();
+        while (stored.hasNext()) {
+            EntityRecord record = stored.next();
+            EntityRecord newer = changed.remove(unpack(record.getEntityId(), BlogId.class));
+            boolean replaced = newer != null
+                    && newer.getVersion()
+                            .getNumber() > record.getVersion()
+                                                 .getNumber();
+            result.add(replaced ? masked(newer, format.getFieldMask()) : record);
+        }
+        changed.forEach((id, record) -> {
+            if (requested == null || requested.contains(id)) {
+                result.add(masked(record, format.getFieldMask()));
+            }
+        });
+        int limit = format.getLimit();
+        if (limit > 0 && result.size() > limit) {
+            return result.subList(0, limit)
+                         .iterator();
+        }
+        return result.iterator();
+    }
+
+    private static @Nullable Set<BlogId> requestedIds(TargetFilters filters) {
+        List<Any> ids = filters.getIdFilter()
+                               .getIdList();
+        if (ids.isEmpty()) {
+            return null;
+        }
+        Set<BlogId> result = new HashSet<>();
+        for (Any id : ids) {
+            result.add(unpack(id, BlogId.class));
+        }
+        return result;
+    }
+
+    private static EntityRecord masked(EntityRecord record, FieldMask mask) {
+        if (mask.getPathsCount() == 0) {
+            return record;
+        }
+        BlogView state = unpack(record.getState(), BlogView.class);
+        return record.toBuilder()
+                     .setState(pack(FieldMasks.applyMask(mask, state)))
+                     .build();
+    }
+
+    private static EntityRecord recordOf(BlogViewProjection projection) {
+        return EntityRecord
+                .newBuilder()
+                .setEntityId(pack(projection.id()))
+                .setState(pack(projection.state()))
+                .setVersion(projection.version())
+                .build();
+    }
+
+    /**
+     * Writes the changed views to the storage.
+     */
+    public void flush() {
+        if (!isWriteBehind()) {
+            return;
+        }
+        flushing.lock();
+        try {
+            Map<BlogId, EntityRecord> written = dirtyRecords();
+            for (EntityRecord record : written.values()) {
+                super.store(toEntity(record));
+            }
+            lock.lock();
+            try {
+                written.forEach(dirty::remove);
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            flushing.unlock();
+        }
+    }
+
+    /**
+     * Obtains the number of the changed views which are not written yet.
+     */
+    public int dirtyCount() {
+        lock.lock();
+        try {
+            return dirty.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes all the changed views and closes the repository.
+     */
+    @Override
+    public void close() {
+        if (flusher != null) {
+            flusher.shutdownNow();
+        }
+        flush();
+        super.close();
     }
 }
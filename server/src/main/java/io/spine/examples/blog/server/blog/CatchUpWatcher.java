@@ -0,0 +1,100 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.server.blog;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.spine.core.Subscribe;
+import io.spine.server.delivery.CatchUpId;
+import io.spine.server.delivery.event.CatchUpCompleted;
+import io.spine.server.event.AbstractEventSubscriber;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Tracks the completion of the catch-up processes.
+ *
+ * <p>Only the catch-ups which are {@linkplain #completionOf(CatchUpId) awaited} are tracked.
+ * A catch-up may complete before its future is requested, for example, when the messages are
+ * delivered synchronously. Thus, a limited number of the recent completions which nobody
+ * awaits yet are remembered. The completions of the other catch-ups are ignored.
+ */
+final class CatchUpWatcher extends AbstractEventSubscriber {
+
+    /** The maximum number of remembered completions which are not awaited. */
+    private static final int MAX_UNAWAITED = 100;
+
+    private final Map<CatchUpId, CompletableFuture<Void>> completions = new HashMap<>();
+    private final Cache<CatchUpId, Boolean> unawaited = CacheBuilder
+            .newBuilder()
+            .maximumSize(MAX_UNAWAITED)
+            .build();
+
+    @Subscribe
+    synchronized void on(CatchUpCompleted event) {
+        CatchUpId id = event.getId();
+        CompletableFuture<Void> completion = completions.remove(id);
+        if (completion != null) {
+            completion.complete(null);
+        } else {
+            unawaited.put(id, true);
+        }
+    }
+
+    /**
+     * Obtains the future which completes when the catch-up with the given ID completes.
+     *
+     * <p>If the future is cancelled, the catch-up is no longer awaited.
+     */
+    synchronized CompletableFuture<Void> completionOf(CatchUpId id) {
+        if (unawaited.getIfPresent(id) != null) {
+            unawaited.invalidate(id);
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> completion = completions.get(id);
+        if (completion == null) {
+            CompletableFuture<Void> created = new CompletableFuture<>();
+            created.whenComplete((result, error) -> forget(id, created));
+            completions.put(id, created);
+            completion = created;
+        }
+        return completion;
+    }
+
+    private synchronized void forget(CatchUpId id, CompletableFuture<Void> completion) {
+        completions.remove(id, completion);
+    }
+
+    /**
+     * Obtains the number of the awaited catch-ups which are not completed yet.
+     */
+    synchronized int awaitedCount() {
+        return completions.size();
+    }
+}
@@ -0,0 +1,414 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.server.bulk;
+
+import io.spine.base.EventMessage;
+import io.spine.base.Identifier;
+import io.spine.base.Time;
+import io.spine.core.ActorContext;
+import io.spine.core.Event;
+import io.spine.core.UserId;
+import io.spine.core.Version;
+import io.spine.core.Versions;
+import io.spine.examples.blog.BlogContext;
+import io.spine.examples.blog.BlogId;
+import io.spine.examples.blog.PostSummary;
+import io.spine.examples.blog.events.BlogCreated;
+import io.spine.examples.blog.events.BlogImported;
+import io.spine.examples.blog.events.PostAdded;
+import io.spine.examples.blog.events.PostCreated;
+import io.spine.examples.blog.events.PostListed;
+import io.spine.examples.blog.events.PostPublished;
+import io.spine.examples.blog.export.ExportRecord;
+import io.spine.examples.blog.export.ExportedBlog;
+import io.spine.examples.blog.export.ExportedPost;
+import io.spine.examples.blog.server.journal.CommandJournal;
+import io.spine.json.Json;
+import io.spine.logging.Logging;
+import io.spine.server.event.EventFactory;
+import io.spine.validate.ValidationException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static io.spine.examples.blog.BlogContext.STORAGE_PROPERTY;
+import static io.spine.examples.blog.server.blog.BlogPages.PAGE_SIZE;
+import static io.spine.examples.blog.server.blog.BlogPages.excerptOf;
+import static io.spine.examples.blog.server.blog.BlogPages.pageOf;
+import static io.spine.examples.blog.server.blog.BlogPages.toPostSummary;
+import static io.spine.util.Exceptions.newIllegalArgumentException;
+import static io.spine.util.Exceptions.newIllegalStateException;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A command-line tool which imports blogs and posts from an export file into the Blog context.
+ *
+ * <p>The file contains an {@link ExportRecord} in the JSON format per line. A blog must go
+ * before its posts. The whole file is validated before the import starts, so that a malformed
+ * file does not leave the context partially imported.
+ *
+ * <p>The tool requires the {@code journal} {@linkplain BlogContext#STORAGE_PROPERTY storage}.
+ * The records are turned into the events the aggregates would have produced for them, which are
+ * {@linkplain CommandJournal#recordImport(List) recorded} in the journal without handling any
+ * commands. The events are written in batches of the events of a single aggregate:
+ * <ul>
+ *     <li>{@code PostCreated} and {@code PostPublished} of a post;
+ *     <li>{@code BlogCreated}, {@code PostAdded}, and {@code PostListed} of a blog, in batches of
+ *         up to {@value #BATCH_SIZE} events.
+ * </ul>
+ *
+ * <p>The import of each blog ends with a {@link BlogImported} event, which carries the latest
+ * page of its posts. The {@link io.spine.examples.blog.BlogView BlogView} of the blog is built
+ * once from that event, instead of once per imported post. To build it, the latest page of
+ * the posts of each blog is kept in memory until the end of the file.
+ *
+ * <p>The server imports the events when it {@linkplain CommandJournal#replayTo restores}
+ * the context from the journal on its next start. The journal is locked while it is open, so
+ * the tool fails if the server is running.
+ *
+ * <p>Usage: {@code BulkImport <export-file>}.
+ */
+public final class BulkImport implements Logging {
+
+    /** The maximum number of events of a blog written to the journal in a batch. */
+    private static final int BATCH_SIZE = 1_000;
+
+    /** The number of records after which the progress is reported. */
+    private static final int REPORT_EVERY = 100_000;
+
+    private static final UserId ACTOR = UserId
+            .newBuilder()
+            .setValue("bulk-import")
+            .build();
+
+    private final Path file;
+
+    private BulkImport(Path file) {
+        this.file = file;
+    }
+
+    public static void main(String[] args) throws Exception {
+        checkArgument(args.length == 1, "Usage: BulkImport <export-file>");
+        try (CommandJournal journal = BlogContext.openJournal()
+                                                 .orElseThrow(BulkImport::journalRequired)) {
+            importFile(Paths.get(args[0]), journal);
+        }
+    }
+
+    /**
+     * Validates the file and records the events for its records in the given journal.
+     *
+     * @throws IllegalArgumentException
+     *         if a record of the file is malformed or invalid
+     */
+    static void importFile(Path file, CommandJournal journal) throws IOException {
+        BulkImport tool = new BulkImport(file);
+        long count = tool.validate();
+        tool.importTo(journal, count);
+    }
+
+    /**
+     * Checks that every line of the file is a valid record and that every post goes after its
+     * blog.
+     *
+     * @return the number of records in the file
+     * @throws IllegalArgumentException
+     *         if a record is malformed or invalid
+     */
+    private long validate() throws IOException {
+        long count = 0;
+        Set<BlogId> blogs = new HashSet<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, UTF_8)) {
+            long lineNumber = 0;
+            String line = reader.readLine();
+            while (line != null) {
+                lineNumber++;
+                if (!line.trim().isEmpty()) {
+                    try {
+                        validate(parse(line), blogs);
+                        count++;
+                    } catch (IllegalArgumentException | ValidationException e) {
+                        throw newIllegalArgumentException(
+                                e, "Invalid record at line %d of `%s`.", lineNumber, file
+                        );
+                    }
+                }
+                line = reader.readLine();
+            }
+        }
+        _info().log("Validated %d records of `%s`.", count, file);
+        return count;
+    }
+
+    /**
+     * Validates the record.
+     *
+     * @param blogs
+     *         the blogs of the previous records; a valid blog record is added to them
+     */
+    private static void validate(ExportRecord record, Set<BlogId> blogs) {
+        switch (record.getKindCase()) {
+            case BLOG:
+                ExportedBlog blog = record.getBlog()
+                                          .toBuilder()
+                                          .vBuild();
+                checkArgument(blogs.add(blog.getId()),
+                              "The blog `%s` is defined twice.", blog.getId().getUuid());
+                break;
+            case POST:
+                ExportedPost post = record.getPost()
+                                          .toBuilder()
+                                          .vBuild();
+                checkArgument(blogs.contains(post.getBlog()),
+                              "The blog `%s` of the post `%s` is not defined before the post.",
+                              post.getBlog().getUuid(), post.getId().getUuid());
+                break;
+            case KIND_NOT_SET:
+            default:
+                throw newIllegalArgumentException("The record is empty.");
+        }
+    }
+
+    private static IllegalStateException journalRequired() {
+        return newIllegalStateException(
+                "The import requires the `journal` storage. Set the `%s` system property.",
+                STORAGE_PROPERTY
+        );
+    }
+
+    /**
+     * Records the events for the records of the file in the given journal.
+     */
+    private void importTo(CommandJournal journal, long total) throws IOException {
+        ActorContext actor = ActorContext
+                .newBuilder()
+                .setActor(ACTOR)
+                .setTimestamp(Time.currentTime())
+                .build();
+        ImportWriter writer = new ImportWriter(journal);
+        Map<BlogId, ImportedBlog> blogs = new LinkedHashMap<>();
+        long imported = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, UTF_8)) {
+            String line = reader.readLine();
+            while (line != null) {
+                if (!line.trim().isEmpty()) {
+                    ExportRecord record = parse(line);
+                    if (record.hasBlog()) {
+                        ExportedBlog blog = record.getBlog();
+                        blogs.put(blog.getId(), new ImportedBlog(blog, actor));
+                    } else {
+                        ExportedPost post = record.getPost();
+                        writer.add(postEvents(post, actor));
+                        ImportedBlog blog = blogs.get(post.getBlog());
+                        blog.add(post);
+                        if (blog.pendingCount() >= BATCH_SIZE) {
+                            writer.add(blog.drain());
+                        }
+                    }
+                    imported++;
+                    if (imported % REPORT_EVERY == 0) {
+                        _info().log("Imported %d of %d records.", imported, total);
+                    }
+                }
+                line = reader.readLine();
+            }
+        }
+        for (ImportedBlog blog : blogs.values()) {
+            writer.add(blog.complete());
+        }
+        writer.flush();
+        _info().log("Imported %d records. They are restored on the next start of the server.",
+                    imported);
+    }
+
+    /**
+     * Creates the events of the post aggregate for the exported post.
+     */
+    private static List<Event> postEvents(ExportedPost post, ActorContext actor) {
+        EventFactory events = EventFactory.forImport(actor, Identifier.pack(post.getId()));
+        List<Event> result = new ArrayList<>(2);
+        PostCreated created = PostCreated
+                .newBuilder()
+                .setId(post.getId())
+                .setBlog(post.getBlog())
+                .setTitle(post.getTitle())
+                .setBody(post.getBody())
+                .vBuild();
+        result.add(events.createEvent(created, versionOf(1)));
+        if (post.getPublished()) {
+            PostPublished published = PostPublished
+                    .newBuilder()
+                    .setPost(post.getId())
+                    .setBlog(post.getBlog())
+                    .setTitle(post.getTitle())
+                    .setBody(post.getBody())
+                    .vBuild();
+            result.add(events.createEvent(published, versionOf(2)));
+        }
+        return result;
+    }
+
+    private static Version versionOf(int number) {
+        return Versions.newVersion(number, Time.currentTime());
+    }
+
+    private static ExportRecord parse(String line) {
+        return Json.fromJson(line, ExportRecord.class);
+    }
+
+    /**
+     * Collects the events of an imported blog.
+     *
+     * <p>Keeps the latest page of the published posts of the blog to build
+     * the {@link BlogImported} event once all the records of the file are read.
+     */
+    private static final class ImportedBlog {
+
+        private final ExportedBlog blog;
+        private final EventFactory events;
+        private final List<Event> pending = new ArrayList<>();
+        private final Deque<PostSummary> latest = new ArrayDeque<>(PAGE_SIZE);
+        private int version;
+        private int publishedCount;
+
+        private ImportedBlog(ExportedBlog blog, ActorContext actor) {
+            this.blog = blog;
+            this.events = EventFactory.forImport(actor, Identifier.pack(blog.getId()));
+            add(BlogCreated
+                        .newBuilder()
+                        .setId(blog.getId())
+                        .setTitle(blog.getTitle())
+                        .vBuild());
+        }
+
+        /**
+         * Adds the events of the blog for the given post.
+         */
+        private void add(ExportedPost post) {
+            add(PostAdded
+                        .newBuilder()
+                        .setPost(post.getId())
+                        .setBlog(blog.getId())
+                        .vBuild());
+            if (!post.getPublished()) {
+                return;
+            }
+            String body = post.getBody();
+            PostListed listed = PostListed
+                    .newBuilder()
+                    .setPost(post.getId())
+                    .setPage(pageOf(blog.getId(), publishedCount))
+                    .setPosition(publishedCount)
+                    .setTitle(post.getTitle())
+                    .setExcerpt(excerptOf(body))
+                    .setBodyLength(body.codePointCount(0, body.length()))
+                    .vBuild();
+            add(listed);
+            publishedCount++;
+            if (latest.size() == PAGE_SIZE) {
+                latest.removeLast();
+            }
+            latest.addFirst(toPostSummary(listed));
+        }
+
+        private void add(EventMessage message) {
+            version++;
+            pending.add(events.createEvent(message, versionOf(version)));
+        }
+
+        private int pendingCount() {
+            return pending.size();
+        }
+
+        /**
+         * Obtains the events added since the previous call and forgets them.
+         */
+        private List<Event> drain() {
+            List<Event> result = new ArrayList<>(pending);
+            pending.clear();
+            return result;
+        }
+
+        /**
+         * Ends the import of the blog with the {@link BlogImported} event and obtains
+         * the events not drained yet.
+         */
+        private List<Event> complete() {
+            add(BlogImported
+                        .newBuilder()
+                        .setId(blog.getId())
+                        .setTitle(blog.getTitle())
+                        .setPublishedCount(publishedCount)
+                        .addAllPost(latest)
+                        .vBuild());
+            return drain();
+        }
+    }
+
+    /**
+     * Writes the batches of the events to the journal, many batches at once.
+     */
+    private static final class ImportWriter {
+
+        private final CommandJournal journal;
+        private final List<List<Event>> batches = new ArrayList<>();
+        private int eventCount;
+
+        private ImportWriter(CommandJournal journal) {
+            this.journal = journal;
+        }
+
+        private void add(List<Event> batch) {
+            batches.add(batch);
+            eventCount += batch.size();
+            if (eventCount >= BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (batches.isEmpty()) {
+                return;
+            }
+            journal.recordImport(batches);
+            batches.clear();
+            eventCount = 0;
+        }
+    }
+}
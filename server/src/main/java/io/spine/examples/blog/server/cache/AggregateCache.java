@@ -0,0 +1,164 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.server.cache;
+
+import io.spine.examples.blog.server.metrics.MetricId;
+import io.spine.examples.blog.server.metrics.MetricRegistry;
+import io.spine.server.aggregate.Aggregate;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToIntFunction;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A bounded cache of the loaded aggregates, which evicts the least recently used ones.
+ *
+ * <p>A cached aggregate is returned only if its version is the same as the version of
+ * the aggregate in the storage. Thus, an aggregate changed elsewhere, for example, by another
+ * node of the cluster, is loaded again.
+ *
+ * <p>The hits, the misses and the evictions of the cache are reported to
+ * the {@linkplain MetricRegistry#shared() shared metrics} labeled with the given name, along with
+ * the size of the cache.
+ *
+ * @param <I>
+ *         the type of the aggregate IDs
+ * @param <A>
+ *         the type of the aggregates
+ */
+final class AggregateCache<I, A extends Aggregate<I, ?, ?>> {
+
+    private final Map<I, A> aggregates;
+    private final ToIntFunction<I> storedVersion;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Creates a new cache.
+     *
+     * @param name
+     *         the name of the cache in the metrics
+     * @param maxSize
+     *         the maximum number of the cached aggregates
+     * @param storedVersion
+     *         obtains the number of the version of the aggregate with the given ID in
+     *         the storage
+     */
+    AggregateCache(String name, int maxSize, ToIntFunction<I> storedVersion) {
+        checkNotNull(name);
+        checkArgument(maxSize > 0, "The cache size must be positive, but was %s.", maxSize);
+        this.storedVersion = checkNotNull(storedVersion);
+        this.aggregates = new LinkedHashMap<I, A>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 0L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<I, A> eldest) {
+                boolean full = size() > maxSize;
+                if (full) {
+                    evictions.incrementAndGet();
+                }
+                return full;
+            }
+        };
+        registerMetrics(name);
+    }
+
+    private void registerMetrics(String name) {
+        MetricRegistry metrics = MetricRegistry.shared();
+        metrics.counter(metricId("blog_aggregate_cache_hits_total", name), hits::get);
+        metrics.counter(metricId("blog_aggregate_cache_misses_total", name), misses::get);
+        metrics.counter(metricId("blog_aggregate_cache_evictions_total", name), evictions::get);
+        metrics.gauge(metricId("blog_aggregate_cache_size", name), this::size);
+    }
+
+    private static MetricId metricId(String metric, String cache) {
+        return MetricId.of(metric)
+                       .with("repository", cache);
+    }
+
+    /**
+     * Obtains the cached aggregate with the given ID if it is up to date with the storage.
+     *
+     * <p>An outdated aggregate is removed from the cache.
+     *
+     * @return the aggregate or {@code null} if there is no such aggregate in the cache or
+     *         it is outdated
+     */
+    @Nullable A get(I id) {
+        A cached;
+        synchronized (aggregates) {
+            cached = aggregates.get(id);
+        }
+        if (cached == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        if (cached.version()
+                  .getNumber() != storedVersion.applyAsInt(id)) {
+            invalidate(id);
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return cached;
+    }
+
+    /**
+     * Puts the stored aggregate to the cache.
+     */
+    void put(A aggregate) {
+        checkNotNull(aggregate);
+        synchronized (aggregates) {
+            aggregates.put(aggregate.id(), aggregate);
+        }
+    }
+
+    /**
+     * Removes the aggregate with the given ID from the cache.
+     */
+    void invalidate(I id) {
+        synchronized (aggregates) {
+            aggregates.remove(id);
+        }
+    }
+
+    /**
+     * Obtains the number of the cached aggregates.
+     */
+    int size() {
+        synchronized (aggregates) {
+            return aggregates.size();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.server.cache;
+
+import io.spine.server.aggregate.Aggregate;
+import io.spine.server.aggregate.AggregateHistory;
+import io.spine.server.aggregate.AggregateRepository;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Optional;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * A repository which may keep the loaded aggregates in memory between the messages.
+ *
+ * <p>Without the cache, an aggregate is loaded from the storage for each message it handles:
+ * the latest snapshot is restored, and the events after it are replayed. With the cache,
+ * the aggregate stored after handling a message is kept, and the next message is dispatched to
+ * the same instance, as long as the storage holds no newer version of it. The cache is bounded
+ * and evicts the least recently used aggregates.
+ *
+ * <p>The version is checked by reading the history of the aggregate since its last snapshot, so
+ * the cache saves restoring the aggregate and replaying the events, but not reading them. In
+ * exchange, an aggregate written by another repository, for example, on another node, is never
+ * served stale. An aggregate which fails to be stored is removed from the cache and loaded again
+ * by the next message.
+ *
+ * <p>The cache is disabled by default. The cache size is passed to the constructor by
+ * the subclasses.
+ *
+ * @param <I>
+ *         the type of the aggregate IDs
+ * @param <A>
+ *         the type of the aggregates
+ */
+public abstract class CachingAggregateRepository<I, A extends Aggregate<I, ?, ?>>
+        extends AggregateRepository<I, A> {
+
+    private final @Nullable AggregateCache<I, A> cache;
+
+    /**
+     * Creates a new repository.
+     *
+     * @param cacheSize
+     *         the maximum number of the cached aggregates, or zero to disable the cache
+     */
+    protected CachingAggregateRepository(int cacheSize) {
+        super();
+        checkArgument(cacheSize >= 0,
+                      "The cache size must not be negative, but was %s.", cacheSize);
+        this.cache = cacheSize > 0
+                     ? new AggregateCache<>(getClass().getSimpleName(), cacheSize,
+                                            this::storedVersion)
+                     : null;
+    }
+
+    /**
+     * Tells if the loaded aggregates are cached.
+     */
+    public final boolean isCaching() {
+        return cache != null;
+    }
+
+    @Override
+    protected A loadOrCreate(I id) {
+        if (cache != null) {
+            A cached = cache.get(id);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        return super.loadOrCreate(id);
+    }
+
+    @Override
+    public void store(A aggregate) {
+        if (cache == null) {
+            super.store(aggregate);
+            return;
+        }
+        try {
+            super.store(aggregate);
+        } catch (RuntimeException e) {
+            cache.invalidate(aggregate.id());
+            throw e;
+        }
+        cache.put(aggregate);
+    }
+
+    /**
+     * Obtains the number of the version of the aggregate in the storage.
+     *
+     * <p>Returns zero if there is no such aggregate.
+     */
+    private int storedVersion(I id) {
+        Optional<AggregateHistory> history = aggregateStorage().read(id, snapshotTrigger());
+        return history.map(CachingAggregateRepository::versionOf)
+                      .orElse(0);
+    }
+
+    private static int versionOf(AggregateHistory history) {
+        int eventCount = history.getEventCount();
+        if (eventCount > 0) {
+            return history.getEvent(eventCount - 1)
+                          .getContext()
+                          .getVersion()
+                          .getNumber();
+        }
+        return history.getSnapshot()
+                      .getVersion()
+                      .getNumber();
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.server.dedup;
+
+import com.google.common.base.Ticker;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import io.spine.core.Ack;
+import io.spine.core.CommandId;
+import io.spine.examples.blog.server.metrics.MetricId;
+import io.spine.examples.blog.server.metrics.MetricRegistry;
+import io.spine.logging.Logging;
+import io.spine.server.bus.BusFilter;
+import io.spine.server.event.EventDispatcher;
+import io.spine.server.type.CommandEnvelope;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Drops the commands with the IDs already posted within a time window.
+ *
+ * <p>A client which does not receive an acknowledgement, for example, because of a timeout,
+ * posts the same command again with the same ID. The filter acknowledges such a command without
+ * passing it further, so that the target aggregate is neither loaded nor asked to handle
+ * the command again. The IDs are remembered as 64-bit hashes in {@link RecentIds}, whose memory
+ * is bounded by its capacity.
+ *
+ * <p>A command is remembered as soon as it passes the filter, so that a copy posted while
+ * the command is being handled is dropped too. If the handler of the command fails, the command
+ * is forgotten, and a retry is handled again. For that, the {@linkplain #failureWatcher()
+ * watcher} of the failed handlers must be registered in the context along with the filter.
+ * A command rejected by its handler is remembered, as a retry would be rejected the same way.
+ *
+ * <p>The number of the dropped commands is reported as the
+ * {@code blog_duplicate_commands_total} {@linkplain MetricRegistry#shared() counter}.
+ */
+public final class DuplicateCommandFilter implements BusFilter<CommandEnvelope>, Logging {
+
+    /**
+     * The name of the system property which defines the time window in milliseconds within
+     * which the repeated commands are dropped.
+     *
+     * <p>If set to zero, the commands are not filtered.
+     */
+    public static final String WINDOW_PROPERTY = "io.spine.examples.blog.dedup.window";
+
+    /**
+     * The name of the system property which defines the maximum number of the command IDs
+     * remembered within the window.
+     */
+    public static final String CAPACITY_PROPERTY = "io.spine.examples.blog.dedup.capacity";
+
+    /**
+     * The time window used if the property is not set.
+     */
+    public static final Duration DEFAULT_WINDOW = Duration.ofMinutes(5);
+
+    /**
+     * The maximum number of the remembered command IDs used if the property is not set.
+     */
+    public static final int DEFAULT_CAPACITY = 100_000;
+
+    private static final HashFunction hashFunction = Hashing.murmur3_128();
+
+    private final RecentIds recent;
+    private final FailedCommands failureWatcher = new FailedCommands(this::forget);
+    private final AtomicLong dropped = new AtomicLong();
+
+    private DuplicateCommandFilter(RecentIds recent) {
+        this.recent = recent;
+        MetricRegistry metrics = MetricRegistry.shared();
+        metrics.counter(MetricId.of("blog_duplicate_commands_total"), dropped::get);
+        metrics.gauge(MetricId.of("blog_remembered_commands"), recent::size);
+    }
+
+    /**
+     * Creates a new filter.
+     *
+     * @param window
+     *         the time to remember a command ID for
+     * @param capacity
+     *         the maximum number of the remembered command IDs
+     */
+    public static DuplicateCommandFilter create(Duration window, int capacity) {
+        return create(window, capacity, Ticker.systemTicker());
+    }
+
+    static DuplicateCommandFilter create(Duration window, int capacity, Ticker ticker) {
+        return new DuplicateCommandFilter(new RecentIds(window, capacity, ticker));
+    }
+
+    /**
+     * Creates a new filter configured by the {@value #WINDOW_PROPERTY} and
+     * {@value #CAPACITY_PROPERTY} system properties.
+     *
+     * @return the filter, or empty if the window is set to zero
+     */
+    public static Optional<DuplicateCommandFilter> fromProperties() {
+        Duration window = Duration.ofMillis(
+                Long.getLong(WINDOW_PROPERTY, DEFAULT_WINDOW.toMillis())
+        );
+        if (window.isZero()) {
+            return Optional.empty();
+        }
+        int capacity = Integer.getInteger(CAPACITY_PROPERTY, DEFAULT_CAPACITY);
+        return Optional.of(create(window, capacity));
+    }
+
+    /**
+     * Obtains the subscriber which tells the filter about the failed command handlers.
+     */
+    public EventDispatcher failureWatcher() {
+        return failureWatcher;
+    }
+
+    @Override
+    public Optional<Ack> filter(CommandEnvelope envelope) {
+        checkNotNull(envelope);
+        CommandId id = envelope.id();
+        if (recent.add(hashOf(id))) {
+            return letPass();
+        }
+        dropped.incrementAndGet();
+        _debug().log("The command `%s` with the ID `%s` is already posted.",
+                     envelope.messageClass(), id.getUuid());
+        return reject(envelope);
+    }
+
+    /**
+     * Forgets the command, so that it is handled if posted again.
+     */
+    void forget(CommandId id) {
+        recent.remove(hashOf(id));
+    }
+
+    private static long hashOf(CommandId id) {
+        return hashFunction.hashString(id.getUuid(), UTF_8)
+                           .asLong();
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.server.dedup;
+
+import com.google.protobuf.Any;
+import io.spine.core.CommandId;
+import io.spine.core.Subscribe;
+import io.spine.server.event.AbstractEventSubscriber;
+import io.spine.system.server.HandlerFailedUnexpectedly;
+
+import java.util.function.Consumer;
+
+import static io.spine.protobuf.AnyPacker.unpack;
+
+/**
+ * Tells the {@link DuplicateCommandFilter} about the commands whose handlers failed, so that
+ * the commands may be posted again.
+ */
+final class FailedCommands extends AbstractEventSubscriber {
+
+    private final Consumer<CommandId> forget;
+
+    /**
+     * Creates a new subscriber.
+     *
+     * @param forget
+     *         receives the IDs of the failed commands
+     */
+    FailedCommands(Consumer<CommandId> forget) {
+        super();
+        this.forget = forget;
+    }
+
+    @Subscribe
+    void on(HandlerFailedUnexpectedly event) {
+        Any signal = event.getHandledSignal()
+                          .getId();
+        if (signal.is(CommandId.class)) {
+            forget.accept(unpack(signal, CommandId.class));
+        }
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.server.dedup;
+
+import com.google.common.base.Ticker;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * The 64-bit hashes of the IDs seen within a time window.
+ *
+ * <p>The window is split into {@value #GENERATIONS} generations. Each generation is an
+ * open-addressing hash table of {@code long}s, which takes 16 to 32 bytes per ID it can hold.
+ * The new hashes are added to the current generation. When the generation is older than its part
+ * of the window, or is full, the oldest generation is cleared and becomes the current one.
+ * Thus, a hash is remembered for at least three quarters of the window, unless more than
+ * the capacity of hashes is added within the window, and the memory is bounded by the capacity.
+ */
+final class RecentIds {
+
+    private static final int GENERATIONS = 4;
+    private static final long EMPTY = 0L;
+
+    private final Ticker ticker;
+    private final long generationNanos;
+    private final int generationCapacity;
+    private final long[][] tables;
+    private final int[] sizes = new int[GENERATIONS];
+    private final int mask;
+    private int current;
+    private long generationStart;
+
+    /**
+     * Creates a new set of IDs.
+     *
+     * @param window
+     *         the time to remember an ID for
+     * @param capacity
+     *         the maximum number of the remembered IDs
+     * @param ticker
+     *         the source of time
+     */
+    RecentIds(Duration window, int capacity, Ticker ticker) {
+        checkNotNull(window);
+        checkNotNull(ticker);
+        checkArgument(!window.isNegative() && !window.isZero(), "The window must be positive.");
+        checkArgument(capacity >= GENERATIONS,
+                      "The capacity must be at least %s, but was %s.", GENERATIONS, capacity);
+        this.ticker = ticker;
+        this.generationNanos = Math.max(window.toNanos() / GENERATIONS, 1);
+        this.generationCapacity = capacity / GENERATIONS;
+        int tableSize = Integer.highestOneBit(generationCapacity * 2 - 1) << 1;
+        this.mask = tableSize - 1;
+        this.tables = new long[GENERATIONS][tableSize];
+        this.generationStart = ticker.read();
+    }
+
+    /**
+     * Adds the hash of an ID unless it is already present.
+     *
+     * @return {@code true} if the hash is added, {@code false} if it has been seen before
+     */
+    synchronized boolean add(long hash) {
+        long key = hash == EMPTY ? 1L : hash;
+        expireGenerations();
+        for (long[] table : tables) {
+            if (contains(table, key)) {
+                return false;
+            }
+        }
+        if (sizes[current] >= generationCapacity) {
+            startGeneration();
+        }
+        insert(tables[current], key);
+        sizes[current]++;
+        return true;
+    }
+
+    /**
+     * Forgets the hash of an ID, so that the ID may be added again.
+     */
+    synchronized void remove(long hash) {
+        long key = hash == EMPTY ? 1L : hash;
+        for (int i = 0; i < GENERATIONS; i++) {
+            if (delete(tables[i], key)) {
+                sizes[i]--;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Obtains the number of the remembered hashes.
+     */
+    synchronized int size() {
+        return Arrays.stream(sizes)
+                     .sum();
+    }
+
+    private void expireGenerations() {
+        long now = ticker.read();
+        long elapsed = now - generationStart;
+        if (elapsed < generationNanos) {
+            return;
+        }
+        long passed = Math.min(elapsed / generationNanos, GENERATIONS);
+        for (int i = 0; i < passed; i++) {
+            startGeneration();
+        }
+        generationStart = now;
+    }
+
+    private void startGeneration() {
+        current = (current + 1) % GENERATIONS;
+        Arrays.fill(tables[current], EMPTY);
+        sizes[current] = 0;
+        generationStart = ticker.read();
+    }
+
+    private boolean contains(long[] table, long key) {
+        int index = indexOf(key);
+        while (table[index] != EMPTY) {
+            if (table[index] == key) {
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    private void insert(long[] table, long key) {
+        int index = indexOf(key);
+        while (table[index] != EMPTY) {
+            index = (index + 1) & mask;
+        }
+        table[index] = key;
+    }
+
+    /**
+     * Deletes the key from the table.
+     *
+     * <p>The following keys of the same run are shifted back into the freed slot where their
+     * probing starts from, so that they are still found without tombstones.
+     *
+     * @return {@code true} if the key was in the table
+     */
+    private boolean delete(long[] table, long key) {
+        int hole = indexOf(key);
+        while (table[hole] != key) {
+            if (table[hole] == EMPTY) {
+                return false;
+            }
+            hole = (hole + 1) & mask;
+        }
+        int next = (hole + 1) & mask;
+        while (table[next] != EMPTY) {
+            int home = indexOf(table[next]);
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                table[hole] = table[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        table[hole] = EMPTY;
+        return true;
+    }
+
+    private int indexOf(long key) {
+        return (int) (key ^ (key >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.server.delivery;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.spine.logging.Logging;
+import io.spine.server.delivery.Delivery;
+import io.spine.server.delivery.DeliveryStrategy;
+import io.spine.server.delivery.InboxMessage;
+import io.spine.server.delivery.ShardIndex;
+import io.spine.server.delivery.ShardObserver;
+import io.spine.type.TypeUrl;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Delivers the messages to the entities by several shards in parallel.
+ *
+ * <p>The entities are spread across the shards uniformly by their IDs. Each shard is delivered
+ * by a worker thread of its own. Thus, the messages of a single entity are handled in order,
+ * while the messages of the entities in different shards are handled in parallel.
+ *
+ * <p>The entities of the <em>windowed</em> types, such as the busy blogs, are delivered by
+ * shards of their own. Such a shard is delivered once the delivery window passes after
+ * a message is written into it. The messages which arrive within the window are delivered
+ * together. The messages of the same entity delivered together make a batch: an aggregate is
+ * loaded once for the batch, handles all of its messages, and is stored once. Thus, a window
+ * lets a frequently targeted entity handle a burst of messages at the cost of a single store.
+ * The shards of the other entities are delivered as soon as a message arrives.
+ *
+ * <p>The messages which arrive while the shard is being delivered are delivered by the next
+ * run of the worker. If the delivery of a shard fails, the failure is logged, and the shard is
+ * delivered again after {@value #RETRY_DELAY_MILLIS} ms. The undelivered messages stay in
+ * the inbox until then.
+ *
+ * <p>The workers are stopped by {@link #shutDown()}.
+ */
+public final class ShardedDelivery implements ShardObserver, Logging {
+
+    /**
+     * The time in milliseconds to wait before delivering a shard again after a failure.
+     */
+    private static final long RETRY_DELAY_MILLIS = 1_000;
+
+    private final Delivery delivery;
+    private final int shards;
+    private final long windowMillis;
+    private final ScheduledExecutorService[] workers;
+    private final AtomicBoolean[] scheduled;
+
+    private ShardedDelivery(int shards, Duration window, Set<TypeUrl> windowedTypes) {
+        Set<TypeUrl> windowed = window.isZero()
+                                ? ImmutableSet.of()
+                                : ImmutableSet.copyOf(windowedTypes);
+        WindowedStrategy strategy = new WindowedStrategy(shards, windowed);
+        this.delivery = Delivery
+                .newBuilder()
+                .setStrategy(strategy)
+                .build();
+        this.shards = shards;
+        this.windowMillis = window.toMillis();
+        int workerCount = strategy.shardCount();
+        this.workers = new ScheduledExecutorService[workerCount];
+        this.scheduled = new AtomicBoolean[workerCount];
+        for (int i = 0; i < workerCount; i++) {
+            workers[i] = Executors.newSingleThreadScheduledExecutor(
+                    new ThreadFactoryBuilder()
+                            .setNameFormat("blog-shard-" + i)
+                            .setDaemon(true)
+                            .build()
+            );
+            scheduled[i] = new AtomicBoolean();
+        }
+        delivery.subscribe(this);
+    }
+
+    /**
+     * Creates a delivery by the given number of shards, which delivers the messages as soon as
+     * they arrive.
+     *
+     * <p>The storage factory of the server environment must be configured before the call.
+     */
+    public static ShardedDelivery create(int shards) {
+        return create(shards, Duration.ZERO, ImmutableSet.of());
+    }
+
+    /**
+     * Creates a delivery by the given number of shards and the delivery window.
+     *
+     * <p>The storage factory of the server environment must be configured before the call.
+     *
+     * @param shards
+     *         the number of shards for the entities of each kind
+     * @param window
+     *         the time to wait after a message to a windowed entity arrives before delivering
+     *         its shard
+     * @param windowedTypes
+     *         the state types of the entities whose messages are delivered after the window
+     */
+    public static ShardedDelivery create(int shards, Duration window, Set<TypeUrl> windowedTypes) {
+        checkArgument(shards > 0, "The number of shards must be positive.");
+        checkArgument(!window.isNegative(), "The delivery window must not be negative.");
+        return new ShardedDelivery(shards, window, windowedTypes);
+    }
+
+    /**
+     * Obtains the delivery to install into the server environment.
+     */
+    public Delivery delivery() {
+        return delivery;
+    }
+
+    /**
+     * Stops the workers of the shards.
+     *
+     * <p>The messages not delivered by then stay in the inboxes.
+     */
+    public void shutDown() {
+        for (ScheduledExecutorService worker : workers) {
+            worker.shutdownNow();
+        }
+    }
+
+    @Override
+    public void onMessage(InboxMessage message) {
+        ShardIndex shard = message.getShardIndex();
+        long delay = shard.getIndex() < shards ? 0 : windowMillis;
+        schedule(shard, delay);
+    }
+
+    /**
+     * Schedules the delivery of the shard unless it is already scheduled.
+     *
+     * <p>Once the workers are {@linkplain #shutDown() stopped}, the shard is not scheduled, and
+     * its messages stay in the inbox.
+     */
+    private void schedule(ShardIndex shard, long delayMillis) {
+        int index = shard.getIndex();
+        if (!scheduled[index].compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            workers[index].schedule(() -> deliver(shard), delayMillis, MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            scheduled[index].set(false);
+        }
+    }
+
+    @SuppressWarnings("CheckReturnValue") // The delivery statistics are not used.
+    private void deliver(ShardIndex shard) {
+        int index = shard.getIndex();
+        scheduled[index].set(false);
+        try {
+            delivery.deliver(shard);
+        } catch (RuntimeException e) {
+            _error().withCause(e)
+                    .log("Unable to deliver the shard %d. Retrying in %d ms.",
+                         index, RETRY_DELAY_MILLIS);
+            schedule(shard, RETRY_DELAY_MILLIS);
+        }
+    }
+
+    /**
+     * Spreads the entities uniformly across the shards, putting the entities of the windowed
+     * types into the shards after the ones of the other entities.
+     *
+     * <p>An entity always gets into the same shard, so its messages are handled in order.
+     */
+    private static final class WindowedStrategy extends DeliveryStrategy {
+
+        private static final long serialVersionUID = 0L;
+
+        private final int shards;
+        private final ImmutableSet<TypeUrl> windowed;
+
+        private WindowedStrategy(int shards, Set<TypeUrl> windowed) {
+            super();
+            this.shards = shards;
+            this.windowed = ImmutableSet.copyOf(windowed);
+        }
+
+        @Override
+        protected int indexFor(Object entityId, TypeUrl entityStateType) {
+            int index = Math.floorMod(entityId.hashCode(), shards);
+            return windowed.contains(entityStateType) ? shards + index : index;
+        }
+
+        @Override
+        public int shardCount() {
+            return windowed.isEmpty() ? shards : shards * 2;
+        }
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.server.journal;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
+import io.spine.core.Command;
+import io.spine.core.Event;
+import io.spine.logging.Logging;
+import io.spine.server.BoundedContext;
+import io.spine.server.aggregate.ImportBus;
+import io.spine.server.bus.Listener;
+import io.spine.server.commandbus.CommandBus;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.spine.grpc.StreamObservers.noOpObserver;
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * A journal of the commands posted to the Blog context.
+ *
+ * <p>The state of the context is fully defined by the commands it has handled and the events
+ * imported into it. The entities are kept in the in-memory storage, which also serves as
+ * the index by entity ID. On start, the journal {@linkplain #replayTo(BoundedContext) replays}
+ * the recorded events and commands into a fresh context, and the context rebuilds its aggregates
+ * and projections.
+ *
+ * <p>The events {@linkplain #recordImport(List) imported} in bulk are kept apart from
+ * the commands, in batches of the events of a single aggregate. They are replayed before
+ * the commands.
+ *
+ * <p>The journal makes the context survive restarts, but it is not a storage of the entities
+ * and does not move them out of the memory. The heap taken by the context and the time of
+ * the replay grow with the history.
+ *
+ * <p>The commands are stored in a {@link SegmentedJournal}. Concurrent commands are forced
+ * to the disk together, and the replay parses the commands right from the mapped segment files.
+ *
+ * <p>The replay posts each command to the context and waits until it is handled, so it runs at
+ * the speed of dispatching the commands, their reactions, and the projection updates, not at
+ * the speed of reading the disk. The number of the replayed commands and the time taken are
+ * logged. The replay rate is measured by the {@code JournalReplayBenchmark} of
+ * the {@code benchmarks} module.
+ */
+public final class CommandJournal implements Listener<Command>, AutoCloseable, Logging {
+
+    private static final String JOURNAL_DIR = "journal";
+    private static final String IMPORT_DIR = "import";
+
+    private final SegmentedJournal journal;
+    private final SegmentedJournal imports;
+
+    /**
+     * Tells if the journal is replaying its commands.
+     *
+     * <p>The replayed commands are not recorded again.
+     */
+    private volatile boolean replaying;
+
+    private CommandJournal(SegmentedJournal journal, SegmentedJournal imports) {
+        this.journal = journal;
+        this.imports = imports;
+    }
+
+    /**
+     * Opens the journal in the given directory.
+     *
+     * <p>Creates the directory and the journal files if they do not exist.
+     *
+     * @throws IllegalStateException
+     *         if the journal is already open, e.g. by a running server
+     */
+    public static CommandJournal open(Path directory) {
+        SegmentedJournal journal = SegmentedJournal.open(directory.resolve(JOURNAL_DIR));
+        SegmentedJournal imports;
+        try {
+            imports = SegmentedJournal.open(directory.resolve(IMPORT_DIR));
+        } catch (IllegalStateException e) {
+            journal.close();
+            throw e;
+        }
+        return new CommandJournal(journal, imports);
+    }
+
+    /**
+     * Records the command posted to the context.
+     *
+     * <p>Returns after the command is written to the disk.
+     */
+    @Override
+    public void accept(Command command) {
+        if (replaying) {
+            return;
+        }
+        journal.append(command.toByteArray());
+    }
+
+    /**
+     * Records the commands without posting them to a context.
+     *
+     * <p>The commands are handled when the journal is {@linkplain #replayTo(BoundedContext)
+     * replayed} on the next start of the context. Returns after the commands are written to
+     * the disk.
+     */
+    public void record(List<Command> commands) {
+        journal.appendAll(commands.stream()
+                                  .map(Command::toByteArray)
+                                  .collect(toList()));
+    }
+
+    /**
+     * Records the batches of the events to import into the context.
+     *
+     * <p>Each batch holds the events of a single aggregate, which are imported together when
+     * the journal is {@linkplain #replayTo(BoundedContext) replayed}. Returns after the events
+     * are written to the disk.
+     */
+    public void recordImport(List<List<Event>> batches) {
+        imports.appendAll(batches.stream()
+                                 .map(CommandJournal::toBytes)
+                                 .collect(toList()));
+    }
+
+    /**
+     * Imports all the recorded events into the given context and then posts all the recorded
+     * commands to it, in the order of recording.
+     */
+    public void replayTo(BoundedContext context) {
+        ImportBus importBus = context.importBus();
+        CommandBus commandBus = context.commandBus();
+        long start = System.nanoTime();
+        long[] count = {0, 0};
+        replaying = true;
+        try {
+            imports.forEach(record -> {
+                List<Event> batch = parseBatch(record);
+                importBus.post(batch, noOpObserver());
+                count[0] += batch.size();
+            });
+            journal.forEach(record -> {
+                commandBus.post(parse(record), noOpObserver());
+                count[1]++;
+            });
+        } finally {
+            replaying = false;
+        }
+        long millis = NANOSECONDS.toMillis(System.nanoTime() - start);
+        _info().log("Imported %d events and replayed %d commands in %d ms.",
+                    count[0], count[1], millis);
+    }
+
+    @Override
+    public void close() {
+        try {
+            imports.close();
+        } finally {
+            journal.close();
+        }
+    }
+
+    private static Command parse(ByteBuffer record) {
+        try {
+            return Command.parseFrom(record);
+        } catch (InvalidProtocolBufferException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+    }
+
+    /**
+     * Writes the events one after another, each prefixed with its length.
+     */
+    private static byte[] toBytes(List<Event> batch) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            for (Event event : batch) {
+                event.writeDelimitedTo(out);
+            }
+        } catch (IOException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static List<Event> parseBatch(ByteBuffer record) {
+        CodedInputStream input = CodedInputStream.newInstance(record);
+        List<Event> result = new ArrayList<>();
+        try {
+            while (!input.isAtEnd()) {
+                int length = input.readRawVarint32();
+                int limit = input.pushLimit(length);
+                result.add(Event.parseFrom(input));
+                input.popLimit(limit);
+            }
+        } catch (IOException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+        return result;
+    }
+}
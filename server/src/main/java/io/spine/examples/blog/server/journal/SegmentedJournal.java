@@ -0,0 +1,468 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.server.journal;
+
+import com.google.common.collect.ImmutableList;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+import static com.google.common.base.Preconditions.checkState;
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
+import static io.spine.util.Exceptions.newIllegalStateException;
+import static java.lang.String.format;
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * An append-only log of binary records stored in rotating segment files.
+ *
+ * <p>Each record is written as a frame: the length of the payload and its CRC32 checksum, both
+ * as 4-byte integers, followed by the payload. A segment is closed once it grows beyond
+ * {@link #SEGMENT_SIZE}, and the next record starts a new segment.
+ *
+ * <p>Appending threads hand their frames over to a single writer thread. The writer takes all
+ * the frames pending at the moment, writes them at once, and forces them to the disk with
+ * a single {@code fsync}. An {@link #append(byte[])} returns after its record is on the disk.
+ * If a batch fails to be written, its frames are cut off, so that the records written after it
+ * are not lost behind an invalid frame. If the segment cannot be cut back, the writer stops and
+ * the journal is closed.
+ *
+ * <p>A new segment is created and forced to the directory before the previous one is closed.
+ *
+ * <p>Segments are {@linkplain FileChannel#map memory-mapped} for reading, so that
+ * the {@linkplain #forEach(Consumer) replay} passes the payloads without copying them.
+ *
+ * <p>The journal is locked while it is open, so that it cannot be written by two processes
+ * at once.
+ *
+ * <p>Only the last segment may end with an invalid frame, which is a write torn by a crash.
+ * An invalid frame in any other segment means the journal is corrupted, and the replay fails.
+ */
+final class SegmentedJournal implements AutoCloseable {
+
+    /** The size after which a segment is closed. */
+    static final long SEGMENT_SIZE = 64L * 1024 * 1024;
+
+    private static final String SEGMENT_EXTENSION = ".segment";
+    private static final String LOCK_FILE = "journal.lock";
+    private static final int HEADER_SIZE = 2 * Integer.BYTES;
+    private static final long POLL_INTERVAL_MS = 100;
+
+    private final Path directory;
+    private final FileLock lock;
+    private final BlockingQueue<PendingWrite> pending = new LinkedBlockingQueue<>();
+    private final Thread writer;
+
+    /**
+     * Guards the {@link #closed} flag.
+     *
+     * <p>The appending threads enqueue their records under the read lock, and the journal is
+     * closed under the write lock. Once the writer sees the journal closed, no more records
+     * can be enqueued.
+     */
+    private final ReadWriteLock closing = new ReentrantReadWriteLock();
+
+    private FileChannel segment;
+    private long segmentNumber;
+    private volatile boolean closed;
+
+    private SegmentedJournal(Path directory,
+                             FileLock lock,
+                             long segmentNumber,
+                             FileChannel segment) {
+        this.directory = directory;
+        this.lock = lock;
+        this.segmentNumber = segmentNumber;
+        this.segment = segment;
+        this.writer = new Thread(this::writeLoop, "blog-journal-writer");
+        this.writer.setDaemon(true);
+    }
+
+    /**
+     * Opens the journal in the given directory.
+     *
+     * <p>If the last segment ends with an incomplete frame, e.g. after a crash, the frame
+     * is cut off.
+     *
+     * @throws IllegalStateException
+     *         if the journal is already open
+     */
+    static SegmentedJournal open(Path directory) {
+        try {
+            Files.createDirectories(directory);
+            FileLock lock = lock(directory);
+            List<Path> segments = segments(directory);
+            long number = segments.isEmpty()
+                          ? 0
+                          : numberOf(segments.get(segments.size() - 1));
+            FileChannel channel = FileChannel.open(segmentPath(directory, number),
+                                                   CREATE, READ, WRITE);
+            if (segments.isEmpty()) {
+                forceDirectory(directory);
+            }
+            truncateIncomplete(channel);
+            SegmentedJournal journal = new SegmentedJournal(directory, lock, number, channel);
+            journal.writer.start();
+            return journal;
+        } catch (IOException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+    }
+
+    /**
+     * Appends the record to the journal and waits until it is written to the disk.
+     */
+    void append(byte[] payload) {
+        appendAll(ImmutableList.of(payload));
+    }
+
+    /**
+     * Appends the records to the journal in the given order and waits until they are written
+     * to the disk.
+     *
+     * <p>The records are handed over to the writer at once, so that they are forced to the disk
+     * together.
+     */
+    void appendAll(List<byte[]> payloads) {
+        List<PendingWrite> writes = payloads.stream()
+                                            .map(payload -> new PendingWrite(frame(payload)))
+                                            .collect(toList());
+        closing.readLock()
+               .lock();
+        try {
+            checkState(!closed, "The journal in `%s` is closed.", directory);
+            pending.addAll(writes);
+        } finally {
+            closing.readLock()
+                   .unlock();
+        }
+        try {
+            for (PendingWrite write : writes) {
+                write.done.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw illegalStateWithCauseOf(e);
+        } catch (ExecutionException e) {
+            throw illegalStateWithCauseOf(e.getCause());
+        }
+    }
+
+    /**
+     * Passes the payloads of all the records to the given consumer in the order of appending.
+     *
+     * <p>The passed buffers are read-only views of the mapped segments. They must not be used
+     * after the consumer returns.
+     *
+     * @throws IllegalStateException
+     *         if a segment other than the last one has an invalid frame
+     */
+    void forEach(Consumer<ByteBuffer> consumer) {
+        try {
+            List<Path> segments = segments(directory);
+            for (int i = 0; i < segments.size(); i++) {
+                Path path = segments.get(i);
+                try (FileChannel channel = FileChannel.open(path, READ)) {
+                    MappedByteBuffer mapped = channel.map(READ_ONLY, 0, channel.size());
+                    ByteBuffer payload = nextPayload(mapped);
+                    while (payload != null) {
+                        consumer.accept(payload);
+                        payload = nextPayload(mapped);
+                    }
+                    boolean last = i == segments.size() - 1;
+                    if (mapped.hasRemaining() && !last) {
+                        throw newIllegalStateException(
+                                "The journal segment `%s` has an invalid frame at offset %d.",
+                                path.getFileName(), mapped.position()
+                        );
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+    }
+
+    /**
+     * Stops accepting records, waits until the pending ones are written, and closes the journal.
+     */
+    @Override
+    public void close() {
+        markClosed();
+        try {
+            writer.join();
+            segment.close();
+            lock.channel()
+                .close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+    }
+
+    /**
+     * Writes the pending records until the journal is closed and no records are left.
+     *
+     * <p>If the writer is interrupted or cannot continue writing the segments, the journal is
+     * closed and the records left unwritten are failed.
+     */
+    private void writeLoop() {
+        List<PendingWrite> batch = new ArrayList<>();
+        @Nullable IOException failure = null;
+        try {
+            while (true) {
+                PendingWrite first = pending.poll(POLL_INTERVAL_MS, MILLISECONDS);
+                if (first == null) {
+                    if (closed && pending.isEmpty()) {
+                        return;
+                    }
+                    continue;
+                }
+                batch.add(first);
+                pending.drainTo(batch);
+                writeBatch(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            failure = e;
+        } finally {
+            markClosed();
+            pending.drainTo(batch);
+            IllegalStateException notWritten = new IllegalStateException(
+                    format("The writer of the journal in `%s` has stopped.", directory), failure
+            );
+            batch.forEach(write -> write.done.completeExceptionally(notWritten));
+        }
+    }
+
+    private void markClosed() {
+        closing.writeLock()
+               .lock();
+        try {
+            closed = true;
+        } finally {
+            closing.writeLock()
+                   .unlock();
+        }
+    }
+
+    /**
+     * Writes the batch to the current segment and forces it to the disk.
+     *
+     * <p>If the batch fails, its records are failed and the segment is cut back to the position
+     * before the batch.
+     *
+     * @throws IOException
+     *         if the segment cannot be cut back or rotated, so the writer has to stop
+     */
+    private void writeBatch(List<PendingWrite> batch) throws IOException {
+        long start = segment.position();
+        try {
+            for (PendingWrite write : batch) {
+                while (write.frame.hasRemaining()) {
+                    segment.write(write.frame);
+                }
+            }
+            segment.force(false);
+        } catch (IOException e) {
+            batch.forEach(write -> write.done.completeExceptionally(e));
+            segment.truncate(start);
+            segment.position(start);
+            segment.force(false);
+            return;
+        }
+        batch.forEach(write -> write.done.complete(null));
+        if (segment.size() >= SEGMENT_SIZE) {
+            rotate();
+        }
+    }
+
+    /**
+     * Starts the next segment.
+     *
+     * <p>The current segment is closed only after the next one is created and recorded in
+     * the directory, so that the journal always has a segment to write to.
+     */
+    private void rotate() throws IOException {
+        long nextNumber = segmentNumber + 1;
+        FileChannel next = FileChannel.open(segmentPath(directory, nextNumber),
+                                            CREATE, READ, WRITE);
+        try {
+            forceDirectory(directory);
+        } catch (IOException e) {
+            next.close();
+            throw e;
+        }
+        FileChannel previous = segment;
+        segment = next;
+        segmentNumber = nextNumber;
+        previous.close();
+    }
+
+    /**
+     * Forces the entries of the directory to the disk, so that a created segment file survives
+     * a crash.
+     */
+    private static void forceDirectory(Path directory) throws IOException {
+        try (FileChannel channel = FileChannel.open(directory, READ)) {
+            channel.force(true);
+        }
+    }
+
+    private static ByteBuffer frame(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        ByteBuffer frame = ByteBuffer.allocate(HEADER_SIZE + payload.length);
+        frame.putInt(payload.length)
+             .putInt((int) crc.getValue())
+             .put(payload)
+             .flip();
+        return frame;
+    }
+
+    /**
+     * Reads the payload of the next frame of the buffer.
+     *
+     * <p>If the frame is incomplete or invalid, the position of the buffer is left at its start.
+     *
+     * @return the payload or {@code null} if there are no more complete and valid frames
+     */
+    private static @Nullable ByteBuffer nextPayload(ByteBuffer segment) {
+        if (segment.remaining() < HEADER_SIZE) {
+            return null;
+        }
+        int start = segment.position();
+        int length = segment.getInt(start);
+        int checksum = segment.getInt(start + Integer.BYTES);
+        int payloadStart = start + HEADER_SIZE;
+        if (length < 0 || length > segment.limit() - payloadStart) {
+            return null;
+        }
+        ByteBuffer payload = segment.duplicate();
+        payload.position(payloadStart)
+               .limit(payloadStart + length);
+        CRC32 crc = new CRC32();
+        crc.update(payload.duplicate());
+        if ((int) crc.getValue() != checksum) {
+            return null;
+        }
+        segment.position(payloadStart + length);
+        return payload.slice()
+                      .asReadOnlyBuffer();
+    }
+
+    private static void truncateIncomplete(FileChannel channel) throws IOException {
+        long size = channel.size();
+        if (size == 0) {
+            return;
+        }
+        MappedByteBuffer mapped = channel.map(READ_ONLY, 0, size);
+        ByteBuffer payload = nextPayload(mapped);
+        while (payload != null) {
+            payload = nextPayload(mapped);
+        }
+        long validLength = mapped.position();
+        if (validLength < size) {
+            channel.truncate(validLength);
+        }
+        channel.position(validLength);
+    }
+
+    private static FileLock lock(Path directory) throws IOException {
+        FileChannel channel = FileChannel.open(directory.resolve(LOCK_FILE), CREATE, WRITE);
+        @Nullable FileLock lock;
+        try {
+            lock = channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            lock = null;
+        }
+        if (lock == null) {
+            channel.close();
+            throw newIllegalStateException("The journal in `%s` is already open.", directory);
+        }
+        return lock;
+    }
+
+    private static List<Path> segments(Path directory) throws IOException {
+        List<Path> result = new ArrayList<>();
+        try (DirectoryStream<Path> stream =
+                     Files.newDirectoryStream(directory, '*' + SEGMENT_EXTENSION)) {
+            stream.forEach(result::add);
+        }
+        result.sort(null);
+        return ImmutableList.copyOf(result);
+    }
+
+    private static Path segmentPath(Path directory, long number) {
+        return directory.resolve(format("%020d%s", number, SEGMENT_EXTENSION));
+    }
+
+    private static long numberOf(Path segment) {
+        String name = segment.getFileName()
+                             .toString();
+        return Long.parseLong(name.substring(0, name.length() - SEGMENT_EXTENSION.length()));
+    }
+
+    /**
+     * A frame waiting to be written by the writer thread.
+     */
+    private static final class PendingWrite {
+
+        private final ByteBuffer frame;
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        private PendingWrite(ByteBuffer frame) {
+            this.frame = frame;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.server.metrics;
+
+import com.google.protobuf.Message;
+
+/**
+ * The metrics of the entities of the Blog context.
+ */
+public final class BlogMetrics {
+
+    /**
+     * The name of the timers of the message handlers.
+     *
+     * <p>The timers are labeled with the simple names of the entity class and the message class.
+     */
+    public static final String HANDLER = "blog_handler";
+
+    /**
+     * The name of the distributions of the number of events replayed when an aggregate
+     * is loaded.
+     *
+     * <p>The distributions are labeled with the simple name of the aggregate class.
+     */
+    public static final String REPLAYED_EVENTS = "blog_replayed_events";
+
+    private static final long MAX_REPLAYED_EVENTS = 1_000_000;
+
+    /** Prevents instantiation of this utility class. */
+    private BlogMetrics() {
+    }
+
+    /**
+     * Obtains the timer of the handler of the given messages in the given entities.
+     */
+    public static Timer handler(Class<?> entity, Class<? extends Message> message) {
+        MetricId id = MetricId.of(HANDLER)
+                              .with("entity", entity.getSimpleName())
+                              .with("message", message.getSimpleName());
+        return MetricRegistry.shared()
+                             .timer(id);
+    }
+
+    /**
+     * Obtains the distribution of the number of events replayed when an aggregate of the given
+     * class is loaded.
+     */
+    public static Distribution replayedEvents(Class<?> aggregate) {
+        MetricId id = MetricId.of(REPLAYED_EVENTS)
+                              .with("entity", aggregate.getSimpleName());
+        return MetricRegistry.shared()
+                             .distribution(id, MAX_REPLAYED_EVENTS);
+    }
+}
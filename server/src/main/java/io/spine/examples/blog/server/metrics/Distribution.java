@@ -0,0 +1,75 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.server.metrics;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
+
+/**
+ * A histogram of the values of a metric.
+ *
+ * <p>The values are recorded into an HDR histogram with two significant digits. Recording is
+ * wait-free and does not allocate memory, so it may be done on the hot path. The values greater
+ * than the highest trackable value are recorded as the highest trackable value.
+ */
+public final class Distribution {
+
+    private static final int SIGNIFICANT_DIGITS = 2;
+
+    private final long highestTrackable;
+    private final Recorder recorder;
+    private final Histogram total;
+    private @MonotonicNonNull Histogram interval;
+
+    Distribution(long highestTrackable) {
+        this.highestTrackable = highestTrackable;
+        this.recorder = new Recorder(highestTrackable, SIGNIFICANT_DIGITS);
+        this.total = new Histogram(highestTrackable, SIGNIFICANT_DIGITS);
+    }
+
+    /**
+     * Records a non-negative value.
+     */
+    public void record(long value) {
+        recorder.recordValue(Math.min(Math.max(value, 0), highestTrackable));
+    }
+
+    /**
+     * Obtains the summary of all the values recorded so far.
+     *
+     * @param unit
+     *         the value to divide the recorded values by
+     */
+    synchronized Summary summary(double unit) {
+        interval = interval == null
+                   ? recorder.getIntervalHistogram()
+                   : recorder.getIntervalHistogram(interval);
+        total.add(interval);
+        return Summary.of(total, unit);
+    }
+}
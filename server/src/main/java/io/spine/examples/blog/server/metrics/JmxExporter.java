@@ -0,0 +1,184 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.server.metrics;
+
+import com.google.common.collect.ImmutableSortedMap;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Strings.padEnd;
+
+/**
+ * Exports the metrics of a {@link MetricRegistry} as the read-only attributes of an MBean named
+ * {@value #OBJECT_NAME}.
+ *
+ * <p>An attribute is named after the metric and its labels as {@code key=value} pairs, separated
+ * by dots, for example, {@code blog_handler_seconds.entity=BlogAggregate.message=CreateBlog}.
+ * A summary is exported as a set of attributes with the {@code count}, {@code sum}, {@code max}
+ * and the quantile suffixes, such as {@code p99}.
+ */
+public final class JmxExporter implements DynamicMBean {
+
+    /**
+     * The name under which the MBean is registered.
+     */
+    public static final String OBJECT_NAME = "io.spine.examples.blog:type=Metrics";
+
+    private final MetricRegistry registry;
+
+    JmxExporter(MetricRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Registers the MBean exporting the given registry in the platform MBean server, unless
+     * it is already registered.
+     */
+    public static synchronized void register(MetricRegistry registry) {
+        checkNotNull(registry);
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(new JmxExporter(registry), name);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("Unable to register the metrics MBean.", e);
+        }
+    }
+
+    @Override
+    public Object getAttribute(String attribute) throws AttributeNotFoundException {
+        Double value = values().get(attribute);
+        if (value == null) {
+            throw new AttributeNotFoundException(attribute);
+        }
+        return value;
+    }
+
+    @Override
+    public AttributeList getAttributes(String[] attributes) {
+        Map<String, Double> values = values();
+        AttributeList result = new AttributeList();
+        for (String attribute : attributes) {
+            Double value = values.get(attribute);
+            if (value != null) {
+                result.add(new Attribute(attribute, value));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+        throw new AttributeNotFoundException(
+                "The attribute `" + attribute.getName() + "` is read-only.");
+    }
+
+    @Override
+    public AttributeList setAttributes(AttributeList attributes) {
+        return new AttributeList();
+    }
+
+    @Override
+    public Object invoke(String actionName, Object[] params, String[] signature)
+            throws ReflectionException {
+        throw new ReflectionException(new NoSuchMethodException(actionName));
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+        MBeanAttributeInfo[] attributes =
+                values().keySet()
+                        .stream()
+                        .map(name -> new MBeanAttributeInfo(name, Double.class.getName(), name,
+                                                            true, false, false))
+                        .toArray(MBeanAttributeInfo[]::new);
+        return new MBeanInfo(getClass().getName(), "The metrics of the Blog context.",
+                             attributes, null, null, null);
+    }
+
+    private Map<String, Double> values() {
+        SortedMap<String, Double> values = new TreeMap<>();
+        registry.report(new MetricsReporter() {
+            @Override
+            public void summary(MetricId id, Summary summary) {
+                String name = nameOf(id);
+                values.put(name + ".count", (double) summary.count());
+                values.put(name + ".sum", summary.sum());
+                values.put(name + ".max", summary.max());
+                summary.quantiles()
+                       .forEach((quantile, value) -> values.put(
+                               name + ".p" + percentileOf(quantile), value));
+            }
+
+            @Override
+            public void counter(MetricId id, long value) {
+                values.put(nameOf(id), (double) value);
+            }
+
+            @Override
+            public void gauge(MetricId id, long value) {
+                values.put(nameOf(id), (double) value);
+            }
+        });
+        return ImmutableSortedMap.copyOfSorted(values);
+    }
+
+    private static String nameOf(MetricId id) {
+        StringBuilder name = new StringBuilder(id.name());
+        id.labels()
+          .forEach((key, value) -> name.append('.')
+                                       .append(key)
+                                       .append('=')
+                                       .append(value));
+        return name.toString();
+    }
+
+    /**
+     * Obtains the digits of the percentile of the given quantile, for example, {@code 50}
+     * for {@code 0.5} and {@code 999} for {@code 0.999}.
+     */
+    private static String percentileOf(double quantile) {
+        String fraction = Double.toString(quantile);
+        return padEnd(fraction.substring(fraction.indexOf('.') + 1), 2, '0');
+    }
+}
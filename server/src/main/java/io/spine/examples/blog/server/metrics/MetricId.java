@@ -0,0 +1,134 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.server.metrics;
+
+import com.google.common.base.Joiner;
+import com.google.common.collect.ImmutableMap;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Objects;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * The name of a metric along with its labels.
+ *
+ * <p>The IDs are ordered by their {@linkplain #toString() string form}, so that the metrics with
+ * the same name go one after another.
+ */
+public final class MetricId implements Comparable<MetricId> {
+
+    private final String name;
+    private final ImmutableMap<String, String> labels;
+    private final String text;
+
+    private MetricId(String name, ImmutableMap<String, String> labels) {
+        this.name = name;
+        this.labels = labels;
+        this.text = labels.isEmpty()
+                    ? name
+                    : name + '{' + Joiner.on(',')
+                                         .withKeyValueSeparator('=')
+                                         .join(labels) + '}';
+    }
+
+    /**
+     * Creates an ID of the metric with the given name and no labels.
+     *
+     * @param name
+     *         the name which consists of the Latin letters, digits and underscores
+     */
+    public static MetricId of(String name) {
+        checkNotNull(name);
+        checkArgument(name.matches("[a-zA-Z_][a-zA-Z0-9_]*"),
+                      "The metric name `%s` is not valid.", name);
+        return new MetricId(name, ImmutableMap.of());
+    }
+
+    /**
+     * Creates an ID of the same metric with the given label added.
+     */
+    public MetricId with(String label, String value) {
+        checkNotNull(label);
+        checkNotNull(value);
+        ImmutableMap<String, String> newLabels = ImmutableMap
+                .<String, String>builder()
+                .putAll(labels)
+                .put(label, value)
+                .build();
+        return new MetricId(name, newLabels);
+    }
+
+    /**
+     * Creates an ID of the metric with the name having the given suffix and the same labels.
+     */
+    MetricId withSuffix(String suffix) {
+        return new MetricId(name + suffix, labels);
+    }
+
+    /**
+     * Obtains the name of the metric.
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Obtains the labels of the metric in the order they were added.
+     */
+    public ImmutableMap<String, String> labels() {
+        return labels;
+    }
+
+    @Override
+    public int compareTo(MetricId other) {
+        return text.compareTo(other.text);
+    }
+
+    @Override
+    public boolean equals(@Nullable Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MetricId)) {
+            return false;
+        }
+        MetricId other = (MetricId) o;
+        return text.equals(other.text);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(text);
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
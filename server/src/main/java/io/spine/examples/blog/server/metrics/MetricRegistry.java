@@ -0,0 +1,122 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.server.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.LongSupplier;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * The metrics of the Blog context.
+ *
+ * <p>The timers and the distributions are created on the first request and then shared by all
+ * the callers. The code on the hot path obtains them once and keeps them in fields. The gauges
+ * and the counters maintained elsewhere are registered as the functions which read them.
+ *
+ * <p>The metrics are exported by passing a {@link MetricsReporter} to {@link #report}.
+ * The timers are reported as the summaries of the latencies in seconds named with
+ * the {@code _seconds} suffix, along with the gauges of the operations in flight named with
+ * the {@code _in_flight} suffix.
+ */
+public final class MetricRegistry {
+
+    private static final MetricRegistry shared = new MetricRegistry();
+
+    private final Map<MetricId, Timer> timers = new ConcurrentSkipListMap<>();
+    private final Map<MetricId, Distribution> distributions = new ConcurrentSkipListMap<>();
+    private final Map<MetricId, LongSupplier> counters = new ConcurrentSkipListMap<>();
+    private final Map<MetricId, LongSupplier> gauges = new ConcurrentSkipListMap<>();
+
+    /**
+     * Obtains the registry which holds the metrics of the entities.
+     *
+     * <p>The entities are created by their repositories, so they have no other way to obtain
+     * a registry.
+     */
+    public static MetricRegistry shared() {
+        return shared;
+    }
+
+    /**
+     * Obtains the timer with the given ID.
+     */
+    public Timer timer(MetricId id) {
+        checkNotNull(id);
+        return timers.computeIfAbsent(id, key -> new Timer());
+    }
+
+    /**
+     * Obtains the distribution with the given ID.
+     *
+     * @param highestTrackable
+     *         the greatest value to track if the distribution is not created yet;
+     *         the greater values are recorded as this one
+     */
+    public Distribution distribution(MetricId id, long highestTrackable) {
+        checkNotNull(id);
+        return distributions.computeIfAbsent(id, key -> new Distribution(highestTrackable));
+    }
+
+    /**
+     * Registers a monotonically growing counter.
+     *
+     * <p>Replaces the counter with the same ID, if any.
+     */
+    public void counter(MetricId id, LongSupplier value) {
+        checkNotNull(id);
+        checkNotNull(value);
+        counters.put(id, value);
+    }
+
+    /**
+     * Registers a gauge.
+     *
+     * <p>Replaces the gauge with the same ID, if any.
+     */
+    public void gauge(MetricId id, LongSupplier value) {
+        checkNotNull(id);
+        checkNotNull(value);
+        gauges.put(id, value);
+    }
+
+    /**
+     * Passes the current values of all the metrics to the given reporter.
+     */
+    public void report(MetricsReporter reporter) {
+        checkNotNull(reporter);
+        timers.forEach((id, timer) -> reporter.summary(id.withSuffix("_seconds"),
+                                                       timer.summary()));
+        timers.forEach((id, timer) -> reporter.gauge(id.withSuffix("_in_flight"),
+                                                     timer.inFlight()));
+        distributions.forEach((id, distribution) -> reporter.summary(id,
+                                                                     distribution.summary(1)));
+        counters.forEach((id, value) -> reporter.counter(id, value.getAsLong()));
+        gauges.forEach((id, value) -> reporter.gauge(id, value.getAsLong()));
+    }
+}
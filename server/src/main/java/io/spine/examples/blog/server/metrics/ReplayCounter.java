@@ -0,0 +1,88 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.server.metrics;
+
+/**
+ * Counts the events applied to an aggregate and records their number once the aggregate
+ * receives its first message.
+ *
+ * <p>The aggregate is loaded before it receives the first message, so all the events applied
+ * by that time are replayed from the storage.
+ *
+ * <p>Each aggregate instance uses its own counter:
+ * <pre>{@code
+ * private final ReplayCounter replay = new ReplayCounter(replays);
+ *
+ * @Assign
+ * SomethingDone handle(DoSomething c) {
+ *     replay.record();
+ *     // ...
+ * }
+ *
+ * @Apply
+ * private void event(SomethingDone e) {
+ *     replay.applied();
+ *     // ...
+ * }
+ * }</pre>
+ */
+public final class ReplayCounter {
+
+    private final Distribution replays;
+
+    /** The number of events applied since the aggregate was created. */
+    private int applied;
+
+    /** Tells if the number of the replayed events is already recorded. */
+    private boolean recorded;
+
+    /**
+     * Creates a new counter which records to the given distribution.
+     *
+     * @see BlogMetrics#replayedEvents(Class)
+     */
+    public ReplayCounter(Distribution replays) {
+        this.replays = replays;
+    }
+
+    /**
+     * Counts an applied event.
+     */
+    public void applied() {
+        applied++;
+    }
+
+    /**
+     * Records the number of the events applied so far, unless it is already recorded.
+     */
+    public void record() {
+        if (!recorded) {
+            recorded = true;
+            replays.record(applied);
+        }
+    }
+}
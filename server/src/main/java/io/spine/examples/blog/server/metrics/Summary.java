@@ -0,0 +1,102 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.server.metrics;
+
+import com.google.common.collect.ImmutableMap;
+import org.HdrHistogram.AbstractHistogram;
+
+/**
+ * The distribution of the values recorded by a metric.
+ */
+public final class Summary {
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private final long count;
+    private final double sum;
+    private final double max;
+    private final ImmutableMap<Double, Double> quantiles;
+
+    private Summary(long count, double sum, double max, ImmutableMap<Double, Double> quantiles) {
+        this.count = count;
+        this.sum = sum;
+        this.max = max;
+        this.quantiles = quantiles;
+    }
+
+    /**
+     * Creates the summary of the given histogram.
+     *
+     * @param histogram
+     *         the recorded values
+     * @param unit
+     *         the value to divide the recorded values by, for example, to report nanoseconds
+     *         as seconds
+     */
+    static Summary of(AbstractHistogram histogram, double unit) {
+        long count = histogram.getTotalCount();
+        ImmutableMap.Builder<Double, Double> quantiles = ImmutableMap.builder();
+        for (double quantile : QUANTILES) {
+            double value = count == 0
+                           ? 0
+                           : histogram.getValueAtPercentile(quantile * 100) / unit;
+            quantiles.put(quantile, value);
+        }
+        return new Summary(count,
+                           histogram.getMean() * count / unit,
+                           histogram.getMaxValue() / unit,
+                           quantiles.build());
+    }
+
+    /**
+     * Obtains the number of the recorded values.
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Obtains the approximate sum of the recorded values.
+     */
+    public double sum() {
+        return sum;
+    }
+
+    /**
+     * Obtains the maximum recorded value.
+     */
+    public double max() {
+        return max;
+    }
+
+    /**
+     * Obtains the values at the 0.5, 0.9, 0.99 and 0.999 quantiles.
+     */
+    public ImmutableMap<Double, Double> quantiles() {
+        return quantiles;
+    }
+}
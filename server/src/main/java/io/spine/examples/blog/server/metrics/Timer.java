@@ -0,0 +1,138 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.server.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures the latency of an operation and the number of the operations in flight.
+ *
+ * <p>The operation is measured as follows:
+ * <pre>{@code
+ * long start = timer.start();
+ * try {
+ *     // The operation.
+ * } finally {
+ *     timer.stop(start);
+ * }
+ * }</pre>
+ *
+ * <p>Neither of the calls allocates memory. The operations which may afford a lambda are measured
+ * by {@link #call(Operation)} or {@link #run(Runnable)} instead.
+ */
+public final class Timer {
+
+    private static final long HIGHEST_TRACKABLE = TimeUnit.MINUTES.toNanos(1);
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final Distribution latency = new Distribution(HIGHEST_TRACKABLE);
+    private final AtomicLong inFlight = new AtomicLong();
+
+    Timer() {
+    }
+
+    /**
+     * Starts the measurement of an operation.
+     *
+     * @return the start time to pass to {@link #stop(long)}
+     */
+    public long start() {
+        inFlight.incrementAndGet();
+        return System.nanoTime();
+    }
+
+    /**
+     * Completes the measurement of an operation.
+     *
+     * @param start
+     *         the value returned by {@link #start()}
+     */
+    public void stop(long start) {
+        latency.record(System.nanoTime() - start);
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Measures the given operation.
+     *
+     * @return the result of the operation
+     * @throws E
+     *         if the operation throws
+     */
+    public <T, E extends Exception> T call(Operation<T, E> operation) throws E {
+        long start = start();
+        try {
+            return operation.call();
+        } finally {
+            stop(start);
+        }
+    }
+
+    /**
+     * Measures the given operation which has no result.
+     */
+    public void run(Runnable operation) {
+        long start = start();
+        try {
+            operation.run();
+        } finally {
+            stop(start);
+        }
+    }
+
+    /**
+     * Obtains the number of the started and not yet stopped operations.
+     */
+    long inFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Obtains the summary of the latencies in seconds.
+     */
+    Summary summary() {
+        return latency.summary(NANOS_PER_SECOND);
+    }
+
+    /**
+     * An operation measured by a timer.
+     *
+     * @param <T>
+     *         the type of the result of the operation
+     * @param <E>
+     *         the type of the exception the operation may throw
+     */
+    @FunctionalInterface
+    public interface Operation<T, E extends Exception> {
+
+        /**
+         * Performs the operation.
+         */
+        T call() throws E;
+    }
+}
@@ -34,32 +34,56 @@ import io.spine.examples.blog.commands.PublishPost;
 import io.spine.examples.blog.events.PostCreated;
 import io.spine.examples.blog.events.PostPublished;
 import io.spine.examples.blog.rejections.CannotPublishPost;
+import io.spine.examples.blog.server.metrics.Distribution;
+import io.spine.examples.blog.server.metrics.ReplayCounter;
+import io.spine.examples.blog.server.metrics.Timer;
 import io.spine.server.aggregate.Aggregate;
 import io.spine.server.aggregate.Apply;
 import io.spine.server.command.Assign;
 
+import static io.spine.examples.blog.server.metrics.BlogMetrics.handler;
+import static io.spine.examples.blog.server.metrics.BlogMetrics.replayedEvents;
+
 /**
  * A post aggregate handles commands related to a blog post.
+ *
+ * <p>The handlers are {@linkplain io.spine.examples.blog.server.metrics.BlogMetrics timed}.
+ * The number of the events replayed to load the aggregate is recorded when it receives its first
+ * command.
  */
 public final class PostAggregate extends Aggregate<PostId, Post, Post.Builder> {
 
+    private static final Timer createPost = handler(PostAggregate.class, CreatePost.class);
+    private static final Timer publishPost = handler(PostAggregate.class, PublishPost.class);
+    private static final Distribution replays = replayedEvents(PostAggregate.class);
+
+    private final ReplayCounter replay = new ReplayCounter(replays);
+
     PostAggregate(PostId id) {
         super(id);
     }
 
     @Assign
     PostCreated handle(CreatePost c) {
-        return PostCreated
-                .newBuilder()
-                .setId(c.getId())
-                .setBlog(c.getBlog())
-                .setTitle(c.getTitle())
-                .setBody(c.getBody())
-                .vBuild();
+        return createPost.call(() -> {
+            replay.record();
+            return PostCreated
+                    .newBuilder()
+                    .setId(c.getId())
+                    .setBlog(c.getBlog())
+                    .setTitle(c.getTitle())
+                    .setBody(c.getBody())
+                    .vBuild();
+        });
     }
 
     @Assign
     PostPublished handle(PublishPost c) throws CannotPublishPost {
+        return publishPost.call(() -> publish(c));
+    }
+
+    private PostPublished publish(PublishPost c) throws CannotPublishPost {
+        replay.record();
         Post post = state();
         Status status = post.getStatus();
         PostId postId = c.getPost();
@@ -81,16 +105,18 @@ public final class PostAggregate extends Aggregate<PostId, Post, Post.Builder> {
                 .vBuild();
     }
 
-    @Apply
+    @Apply(allowImport = true)
     private void event(PostCreated e) {
+        replay.applied();
         builder().setTitle(e.getTitle())
                  .setBody(e.getBody())
                  .setStatus(Status.DRAFT);
     }
 
-    @Apply
+    @Apply(allowImport = true)
     @SuppressWarnings("PMD.UnusedFormalParameter")
     private void event(PostPublished e) {
+        replay.applied();
         builder().setStatus(Status.PUBLISHED);
     }
 }
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.server.post;
+
+import io.spine.examples.blog.PostId;
+import io.spine.examples.blog.server.cache.CachingAggregateRepository;
+
+/**
+ * A repository for {@link PostAggregate}.
+ *
+ * <p>A post is usually created and published shortly after. The loaded posts may be
+ * {@linkplain CachingAggregateRepository cached}, so that publishing a post does not load it
+ * again. The size of the cache is configured via the {@value #CACHE_SIZE_PROPERTY} system
+ * property or passed to the constructor directly.
+ */
+public final class PostRepository extends CachingAggregateRepository<PostId, PostAggregate> {
+
+    /**
+     * The name of the system property which defines the maximum number of the cached posts.
+     *
+     * <p>By default, the posts are not cached.
+     */
+    public static final String CACHE_SIZE_PROPERTY = "io.spine.examples.blog.cache.posts";
+
+    /**
+     * Creates a new repository with the cache size set from the system property.
+     */
+    public PostRepository() {
+        this(Integer.getInteger(CACHE_SIZE_PROPERTY, 0));
+    }
+
+    /**
+     * Creates a new repository which caches up to {@code cacheSize} posts.
+     */
+    public PostRepository(int cacheSize) {
+        super(cacheSize);
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.server.search;
+
+import java.util.Arrays;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * The posts which contain a term, along with the number of occurrences of the term in each post.
+ *
+ * <p>The posts are identified by their ascending numbers in the index. The list is stored as
+ * variable-length integers: the difference from the previous post number, followed by
+ * the number of occurrences. Thus, a posting usually takes two or three bytes.
+ */
+final class PostingList {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private byte[] bytes = new byte[INITIAL_CAPACITY];
+    private int size;
+    private int count;
+    private int lastPost = -1;
+
+    /**
+     * Appends a posting.
+     *
+     * @param post
+     *         the number of the post, greater than the numbers of all the appended posts
+     * @param frequency
+     *         the number of occurrences of the term in the post
+     */
+    void add(int post, int frequency) {
+        checkArgument(post > lastPost, "The posts must be added in the ascending order.");
+        writeVarInt(post - lastPost);
+        writeVarInt(frequency);
+        lastPost = post;
+        count++;
+    }
+
+    /**
+     * Obtains the number of the posts in the list.
+     */
+    int count() {
+        return count;
+    }
+
+    /**
+     * Obtains the number of bytes the postings take.
+     */
+    int sizeInBytes() {
+        return size;
+    }
+
+    /**
+     * Passes the postings to the given consumer in the ascending order of the post numbers.
+     */
+    void forEach(PostingConsumer consumer) {
+        int position = 0;
+        int post = -1;
+        while (position < size) {
+            int delta = 0;
+            int shift = 0;
+            byte next;
+            do {
+                next = bytes[position++];
+                delta |= (next & 0x7F) << shift;
+                shift += 7;
+            } while (next < 0);
+            int frequency = 0;
+            shift = 0;
+            do {
+                next = bytes[position++];
+                frequency |= (next & 0x7F) << shift;
+                shift += 7;
+            } while (next < 0);
+            post += delta;
+            consumer.accept(post, frequency);
+        }
+    }
+
+    private void writeVarInt(int value) {
+        if (size + 5 > bytes.length) {
+            bytes = Arrays.copyOf(bytes, bytes.length * 2);
+        }
+        int rest = value;
+        while ((rest & ~0x7F) != 0) {
+            bytes[size++] = (byte) ((rest & 0x7F) | 0x80);
+            rest >>>= 7;
+        }
+        bytes[size++] = (byte) rest;
+    }
+
+    /**
+     * Receives the postings of a list.
+     */
+    @FunctionalInterface
+    interface PostingConsumer {
+
+        void accept(int post, int frequency);
+    }
+}
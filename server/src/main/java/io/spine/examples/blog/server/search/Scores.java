@@ -0,0 +1,124 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.server.search;
+
+import java.util.PriorityQueue;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * The scores of the posts which match a query.
+ *
+ * <p>Holds a score per matched post in an open-addressing table keyed by the post number, so that
+ * a query takes memory and time proportional to the number of the matched postings rather than
+ * to the number of all the indexed posts.
+ */
+final class Scores {
+
+    /** The keys of the slots: the post number plus one, or zero for an empty slot. */
+    private final int[] keys;
+    private final float[] values;
+    private final int[] used;
+    private final int mask;
+    private int size;
+
+    /**
+     * Creates the scores for the given maximum number of the matched posts.
+     */
+    Scores(int maxPosts) {
+        checkArgument(maxPosts >= 0, "The number of posts must not be negative.");
+        int capacity = Integer.highestOneBit(Math.max(maxPosts, 1) * 2 - 1) << 1;
+        this.keys = new int[capacity];
+        this.values = new float[capacity];
+        this.used = new int[maxPosts];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Adds the given score to the score of the post.
+     */
+    void add(int post, float score) {
+        int key = post + 1;
+        int slot = (key * 0x9E3779B9) & mask;
+        while (keys[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        if (keys[slot] == 0) {
+            keys[slot] = key;
+            used[size++] = slot;
+        }
+        values[slot] += score;
+    }
+
+    /**
+     * Obtains the number of the scored posts.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Selects the best scored posts.
+     *
+     * @param limit
+     *         the maximum number of the posts to select
+     * @param consumer
+     *         receives the selected posts from the best to the worst
+     */
+    void top(int limit, ScoreConsumer consumer) {
+        PriorityQueue<Integer> best =
+                new PriorityQueue<>(limit + 1, (a, b) -> Float.compare(values[a], values[b]));
+        for (int i = 0; i < size; i++) {
+            int slot = used[i];
+            if (values[slot] <= 0) {
+                continue;
+            }
+            if (best.size() < limit) {
+                best.add(slot);
+            } else if (values[slot] > values[best.peek()]) {
+                best.poll();
+                best.add(slot);
+            }
+        }
+        int[] slots = new int[best.size()];
+        for (int i = slots.length - 1; i >= 0; i--) {
+            slots[i] = best.poll();
+        }
+        for (int slot : slots) {
+            consumer.accept(keys[slot] - 1, values[slot]);
+        }
+    }
+
+    /**
+     * Receives the scored posts.
+     */
+    @FunctionalInterface
+    interface ScoreConsumer {
+
+        void accept(int post, float score);
+    }
+}
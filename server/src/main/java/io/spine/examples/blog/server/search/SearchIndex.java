@@ -0,0 +1,182 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.server.search;
+
+import io.spine.core.Subscribe;
+import io.spine.examples.blog.BlogId;
+import io.spine.examples.blog.PostId;
+import io.spine.examples.blog.events.PostPublished;
+import io.spine.examples.blog.search.SearchHit;
+import io.spine.examples.blog.search.SearchResults;
+import io.spine.server.event.AbstractEventSubscriber;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A full-text index of the published posts.
+ *
+ * <p>The index is updated on each {@link PostPublished} event. It maps each term of the titles
+ * and the bodies of the posts to the {@linkplain PostingList list} of the posts which contain it.
+ * The terms of a title weigh {@value #TITLE_WEIGHT} times as much as the terms of a body.
+ *
+ * <p>The posts which match a query are ranked by
+ * <a href="https://en.wikipedia.org/wiki/Okapi_BM25">Okapi BM25</a>.
+ *
+ * <p>The index is held in memory and is filled again from the events when the context is
+ * restored.
+ */
+public final class SearchIndex extends AbstractEventSubscriber {
+
+    private static final int TITLE_WEIGHT = 2;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Set<PostId> indexed = new HashSet<>();
+    private final List<PostId> posts = new ArrayList<>();
+    private final List<BlogId> blogs = new ArrayList<>();
+    private final List<String> titles = new ArrayList<>();
+    private int[] lengths = new int[1024];
+    private long totalLength;
+
+    @Subscribe
+    void on(PostPublished event) {
+        Map<String, Integer> counts = new HashMap<>();
+        int length = Terms.count(event.getTitle(), TITLE_WEIGHT, counts)
+                + Terms.count(event.getBody(), 1, counts);
+        lock.writeLock().lock();
+        try {
+            if (!indexed.add(event.getPost())) {
+                return;
+            }
+            int number = posts.size();
+            posts.add(event.getPost());
+            blogs.add(event.getBlog());
+            titles.add(event.getTitle());
+            if (number == lengths.length) {
+                lengths = Arrays.copyOf(lengths, lengths.length * 2);
+            }
+            lengths[number] = length;
+            totalLength += length;
+            counts.forEach((term, frequency) -> postings
+                    .computeIfAbsent(term, t -> new PostingList())
+                    .add(number, frequency));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the posts most relevant to the query.
+     *
+     * @param query
+     *         the text to search for
+     * @param limit
+     *         the maximum number of the posts to find
+     */
+    public SearchResults search(String query, int limit) {
+        checkNotNull(query);
+        checkArgument(limit > 0, "The limit must be positive.");
+        Set<String> terms = Terms.of(query)
+                                 .keySet();
+        lock.readLock().lock();
+        try {
+            int count = posts.size();
+            if (count == 0 || terms.isEmpty()) {
+                return SearchResults.getDefaultInstance();
+            }
+            Scores scores = score(terms, count);
+            return top(scores, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Obtains the number of the indexed posts.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return posts.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Scores the posts in the posting lists of the given terms.
+     */
+    private Scores score(Set<String> terms, int count) {
+        List<PostingList> lists = new ArrayList<>(terms.size());
+        int matched = 0;
+        for (String term : terms) {
+            PostingList list = postings.get(term);
+            if (list != null) {
+                lists.add(list);
+                matched += list.count();
+            }
+        }
+        Scores scores = new Scores(Math.min(matched, count));
+        double averageLength = (double) totalLength / count;
+        for (PostingList list : lists) {
+            double frequency = list.count();
+            double idf = Math.log(1 + (count - frequency + 0.5) / (frequency + 0.5));
+            list.forEach((post, occurrences) -> {
+                double norm = K1 * (1 - B + B * lengths[post] / averageLength);
+                double score = idf * occurrences * (K1 + 1) / (occurrences + norm);
+                scores.add(post, (float) score);
+            });
+        }
+        return scores;
+    }
+
+    private SearchResults top(Scores scores, int limit) {
+        SearchResults.Builder results = SearchResults.newBuilder();
+        scores.top(limit, (post, score) -> results.addHit(
+                SearchHit.newBuilder()
+                         .setPost(posts.get(post))
+                         .setBlog(blogs.get(post))
+                         .setTitle(titles.get(post))
+                         .setScore(score)
+                         .build()
+        ));
+        return results.build();
+    }
+}
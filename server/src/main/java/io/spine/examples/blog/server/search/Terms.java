@@ -0,0 +1,89 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.server.search;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Splits a text into terms.
+ *
+ * <p>A term is a lower-case sequence of letters and digits. Terms longer than
+ * {@value #MAX_TERM_LENGTH} code points are truncated.
+ */
+final class Terms {
+
+    static final int MAX_TERM_LENGTH = 64;
+
+    /** Prevents the utility class instantiation. */
+    private Terms() {
+    }
+
+    /**
+     * Counts the occurrences of the terms in the text and adds them to the given counts.
+     *
+     * @return the number of the terms in the text
+     */
+    static int count(String text, int weight, Map<String, Integer> counts) {
+        int total = 0;
+        int start = -1;
+        int length = text.length();
+        for (int i = 0; i <= length; ) {
+            int codePoint = i < length ? text.codePointAt(i) : ' ';
+            boolean partOfTerm = i < length && Character.isLetterOrDigit(codePoint);
+            if (partOfTerm && start < 0) {
+                start = i;
+            } else if (!partOfTerm && start >= 0) {
+                String term = normalize(text.substring(start, i));
+                counts.merge(term, weight, Integer::sum);
+                total += weight;
+                start = -1;
+            }
+            i += i < length ? Character.charCount(codePoint) : 1;
+        }
+        return total;
+    }
+
+    /**
+     * Obtains the distinct terms of the text.
+     */
+    static Map<String, Integer> of(String text) {
+        Map<String, Integer> counts = new HashMap<>();
+        count(text, 1, counts);
+        return counts;
+    }
+
+    private static String normalize(String word) {
+        String term = word.toLowerCase(Locale.ROOT);
+        if (term.codePointCount(0, term.length()) <= MAX_TERM_LENGTH) {
+            return term;
+        }
+        int end = term.offsetByCodePoints(0, MAX_TERM_LENGTH);
+        return term.substring(0, end);
+    }
+}
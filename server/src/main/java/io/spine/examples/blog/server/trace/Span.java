@@ -0,0 +1,130 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.server.trace;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A completed span of a trace.
+ */
+public final class Span {
+
+    private final SpanContext context;
+    private final @Nullable SpanContext parent;
+    private final String name;
+    private final long timestampMicros;
+    private final long durationMicros;
+    private final String post;
+
+    Span(SpanContext context,
+         @Nullable SpanContext parent,
+         String name,
+         long timestampMicros,
+         long durationMicros,
+         String post) {
+        this.context = context;
+        this.parent = parent;
+        this.name = name;
+        this.timestampMicros = timestampMicros;
+        this.durationMicros = Math.max(durationMicros, 1);
+        this.post = post;
+    }
+
+    /**
+     * Obtains the IDs of the span and of its trace.
+     */
+    public SpanContext context() {
+        return context;
+    }
+
+    /**
+     * Obtains the context of the parent span or {@code null} for the root span.
+     */
+    public @Nullable SpanContext parent() {
+        return parent;
+    }
+
+    /**
+     * Obtains the name of the traced operation.
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Obtains the start time of the span in microseconds since the epoch.
+     */
+    public long timestampMicros() {
+        return timestampMicros;
+    }
+
+    /**
+     * Obtains the duration of the span in microseconds, which is at least one.
+     */
+    public long durationMicros() {
+        return durationMicros;
+    }
+
+    /**
+     * Obtains the UUID of the traced post.
+     */
+    public String post() {
+        return post;
+    }
+
+    /**
+     * Formats the span as a <a href="https://zipkin.io/zipkin-api/#/default/post_spans">Zipkin
+     * v2</a> JSON object.
+     */
+    public String toZipkinJson() {
+        StringBuilder json = new StringBuilder(256)
+                .append("{\"traceId\":\"").append(context.traceId())
+                .append("\",\"id\":\"").append(context.spanId());
+        if (parent != null) {
+            json.append("\",\"parentId\":\"").append(parent.spanId());
+        } else {
+            json.append("\",\"kind\":\"SERVER");
+        }
+        json.append("\",\"name\":\"").append(escape(name))
+            .append("\",\"timestamp\":").append(timestampMicros)
+            .append(",\"duration\":").append(durationMicros)
+            .append(",\"localEndpoint\":{\"serviceName\":\"").append(Tracer.SERVICE_NAME)
+            .append("\"},\"tags\":{\"post\":\"").append(escape(post))
+            .append("\"}}");
+        return json.toString();
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\")
+                    .replace("\"", "\\\"");
+    }
+
+    @Override
+    public String toString() {
+        return toZipkinJson();
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.server.trace;
+
+import io.spine.core.CommandId;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * The IDs of a trace and of its span, formatted as the hexadecimal strings.
+ */
+public final class SpanContext {
+
+    private static final int SPAN_ID_LENGTH = 16;
+    private static final String ZERO_SPAN_ID = "0000000000000000";
+    private static final String ONE_SPAN_ID = "0000000000000001";
+
+    private final String traceId;
+    private final String spanId;
+
+    private SpanContext(String traceId, String spanId) {
+        this.traceId = traceId;
+        this.spanId = spanId;
+    }
+
+    /**
+     * Creates the context of the root span of the trace of the given command.
+     *
+     * <p>The ID of the trace is the UUID of the command without dashes. The ID of the root
+     * span is the lower half of the UUID, so that each stage of the trace obtains the same
+     * context from the command.
+     */
+    static SpanContext rootOf(CommandId command) {
+        checkNotNull(command);
+        String traceId = command.getUuid()
+                                .replace("-", "");
+        String spanId = traceId.substring(traceId.length() - SPAN_ID_LENGTH);
+        return new SpanContext(traceId, spanId.equals(ZERO_SPAN_ID) ? ONE_SPAN_ID : spanId);
+    }
+
+    /**
+     * Creates the context of a new span of the same trace.
+     */
+    SpanContext newChild() {
+        return new SpanContext(traceId, newSpanId());
+    }
+
+    private static String newSpanId() {
+        long id;
+        do {
+            id = ThreadLocalRandom.current()
+                                  .nextLong();
+        } while (id == 0);
+        return String.format("%016x", id);
+    }
+
+    /**
+     * Obtains the ID of the trace.
+     */
+    public String traceId() {
+        return traceId;
+    }
+
+    /**
+     * Obtains the ID of the span.
+     */
+    public String spanId() {
+        return spanId;
+    }
+
+    @Override
+    public String toString() {
+        return traceId + '/' + spanId;
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.server.trace;
+
+import com.google.protobuf.Any;
+import io.spine.core.CommandId;
+import io.spine.core.EventContext;
+import io.spine.core.Origin;
+import io.spine.examples.blog.PostId;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.nio.file.Paths;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.protobuf.AnyPacker.unpack;
+
+/**
+ * Traces the publishing of the posts from the command to the clients watching the blog.
+ *
+ * <p>A trace starts when a {@code PublishPost} command is received. The ID of the command
+ * becomes the ID of the trace. The stages the post goes through find the command by
+ * the {@linkplain #rootCommandOf(EventContext) origin} of the events they handle. Each stage
+ * {@linkplain #span(CommandId, PostId, String, long) records a span} as a child of the root span
+ * of the trace, so that the gaps between the spans show the time the messages wait for delivery.
+ *
+ * <p>The {@linkplain #shared() shared} tracer is enabled by the {@value #TRACE_FILE_PROPERTY}
+ * system property. When disabled, the tracer does nothing and costs a field read per call.
+ * The application {@linkplain #close() closes} the tracer on shutdown.
+ */
+public final class Tracer implements AutoCloseable {
+
+    /**
+     * The name of the system property which defines the file to append the spans to in
+     * the Zipkin v2 JSON format.
+     *
+     * <p>If the property is not set, the tracing is disabled.
+     */
+    public static final String TRACE_FILE_PROPERTY = "io.spine.examples.blog.trace.file";
+
+    /**
+     * The name of the service reported in the spans.
+     */
+    static final String SERVICE_NAME = "blog";
+
+    private static final Tracer shared = fromProperty();
+
+    private final @Nullable SpanExporter exporter;
+    private final long epochMicrosAtStart = TimeUnit.MILLISECONDS.toMicros(
+            System.currentTimeMillis()
+    );
+    private final long nanosAtStart = System.nanoTime();
+
+    /**
+     * Creates a tracer which passes the spans to the given exporter.
+     *
+     * @param exporter
+     *         the exporter of the spans, or {@code null} to disable the tracing
+     */
+    public Tracer(@Nullable SpanExporter exporter) {
+        this.exporter = exporter;
+    }
+
+    private static Tracer fromProperty() {
+        String file = System.getProperty(TRACE_FILE_PROPERTY);
+        if (file == null) {
+            return new Tracer(null);
+        }
+        return new Tracer(ZipkinFileExporter.open(Paths.get(file)));
+    }
+
+    /**
+     * Obtains the tracer of the Blog context.
+     *
+     * <p>The entities are created by their repositories, so they have no other way to obtain
+     * a tracer.
+     */
+    public static Tracer shared() {
+        return shared;
+    }
+
+    /**
+     * Tells if the spans are recorded.
+     */
+    public boolean isEnabled() {
+        return exporter != null;
+    }
+
+    /**
+     * Obtains the ID of the command which started the chain of messages leading to the event
+     * with the given context.
+     *
+     * @return the ID of the root command, or {@code Optional.empty()} if the chain was
+     *         started by an event, for example, an imported one
+     */
+    public static Optional<CommandId> rootCommandOf(EventContext context) {
+        checkNotNull(context);
+        Origin origin = context.getPastMessage();
+        while (origin.hasGrandOrigin()) {
+            origin = origin.getGrandOrigin();
+        }
+        Any id = origin.getMessage()
+                       .getId();
+        if (!id.is(CommandId.class)) {
+            return Optional.empty();
+        }
+        return Optional.of(unpack(id, CommandId.class));
+    }
+
+    /**
+     * Starts the trace of the given command.
+     *
+     * @return the context of the root span to pass to {@link #endTrace}, or {@code null} if
+     *         the tracing is disabled
+     */
+    public @Nullable SpanContext startTrace(CommandId command) {
+        checkNotNull(command);
+        if (exporter == null) {
+            return null;
+        }
+        return SpanContext.rootOf(command);
+    }
+
+    /**
+     * Records the root span of a trace.
+     *
+     * @param root
+     *         the context returned by {@link #startTrace}
+     * @param post
+     *         the traced post
+     * @param name
+     *         the name of the operation which received the command
+     * @param startNanos
+     *         the {@link System#nanoTime()} the operation started at
+     */
+    public void endTrace(SpanContext root, PostId post, String name, long startNanos) {
+        checkNotNull(root);
+        if (exporter == null) {
+            return;
+        }
+        exporter.export(newSpan(root, null, post, name, startNanos));
+    }
+
+    /**
+     * Records a span of the trace of the command which caused the event with the given context.
+     *
+     * <p>Does nothing if the event was not caused by a command.
+     *
+     * @param context
+     *         the context of the handled event
+     * @param post
+     *         the traced post
+     * @param name
+     *         the name of the stage
+     * @param startNanos
+     *         the {@link System#nanoTime()} the stage started at
+     */
+    public void span(EventContext context, PostId post, String name, long startNanos) {
+        if (exporter == null) {
+            return;
+        }
+        rootCommandOf(context).ifPresent(root -> span(root, post, name, startNanos));
+    }
+
+    /**
+     * Records a span of the trace of the given command.
+     *
+     * @param command
+     *         the command which started the trace
+     * @param post
+     *         the traced post
+     * @param name
+     *         the name of the stage
+     * @param startNanos
+     *         the {@link System#nanoTime()} the stage started at
+     */
+    public void span(CommandId command, PostId post, String name, long startNanos) {
+        checkNotNull(command);
+        if (exporter == null) {
+            return;
+        }
+        SpanContext root = SpanContext.rootOf(command);
+        exporter.export(newSpan(root.newChild(), root, post, name, startNanos));
+    }
+
+    /**
+     * Closes the exporter of the spans.
+     *
+     * <p>The spans completed after the tracer is closed are dropped.
+     */
+    @Override
+    public void close() {
+        if (exporter != null) {
+            exporter.close();
+        }
+    }
+
+    private Span newSpan(SpanContext context,
+                         @Nullable SpanContext parent,
+                         PostId post,
+                         String name,
+                         long startNanos) {
+        long durationMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+        return new Span(context, parent, name, microsOf(startNanos), durationMicros,
+                        post.getUuid());
+    }
+
+    private long microsOf(long nanos) {
+        return epochMicrosAtStart + TimeUnit.NANOSECONDS.toMicros(nanos - nanosAtStart);
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.server.trace;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.spine.logging.Logging;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+
+/**
+ * Appends the spans to a file in the Zipkin v2 JSON format.
+ *
+ * <p>Each line of the file is a JSON array of a single span, so that a line may be posted to
+ * the {@code /api/v2/spans} endpoint of a Zipkin collector as is. The spans are written on
+ * a dedicated thread.
+ *
+ * <p>The spans exported after the exporter is {@linkplain #close() closed} are dropped.
+ */
+public final class ZipkinFileExporter implements SpanExporter, Logging {
+
+    private static final long CLOSE_TIMEOUT_SECONDS = 5;
+
+    private final BufferedWriter writer;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder()
+                    .setNameFormat("blog-trace-export")
+                    .setDaemon(true)
+                    .build()
+    );
+
+    private ZipkinFileExporter(BufferedWriter writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * Opens the exporter which appends the spans to the given file.
+     */
+    public static ZipkinFileExporter open(Path file) {
+        checkNotNull(file);
+        try {
+            BufferedWriter writer = Files.newBufferedWriter(file, UTF_8, CREATE, APPEND);
+            return new ZipkinFileExporter(writer);
+        } catch (IOException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+    }
+
+    @Override
+    public void export(Span span) {
+        checkNotNull(span);
+        try {
+            executor.execute(() -> write(span));
+        } catch (RejectedExecutionException ignored) {
+            // The exporter is closed, the spans completed after that are dropped.
+        }
+    }
+
+    private void write(Span span) {
+        try {
+            writer.write('[');
+            writer.write(span.toZipkinJson());
+            writer.write(']');
+            writer.newLine();
+            writer.flush();
+        } catch (IOException e) {
+            _warn().withCause(e)
+                   .log("Unable to export the span `%s`.", span.name());
+        }
+    }
+
+    /**
+     * Writes the pending spans and closes the file.
+     *
+     * <p>The spans which are not written within {@value #CLOSE_TIMEOUT_SECONDS} seconds
+     * are dropped.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            writer.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+        } catch (IOException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+    }
+}
@@ -33,7 +33,6 @@ import io.spine.examples.blog.BlogId;
 import io.spine.examples.blog.PostId;
 import io.spine.examples.blog.commands.CreateBlog;
 import io.spine.examples.blog.commands.CreatePost;
-import io.spine.server.Server;
 import io.spine.testing.client.grpc.TestClient;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -52,7 +51,7 @@ import static org.junit.jupiter.api.Assertions.fail;
 @DisplayName("BlogServer")
 abstract class BlogServerTest {
 
-    private Server server;
+    private BlogServer server;
     private TestClient client;
 
     @BeforeEach
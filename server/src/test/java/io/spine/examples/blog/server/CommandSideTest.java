@@ -33,6 +33,7 @@ import io.spine.examples.blog.Post;
 import io.spine.examples.blog.PostId;
 import io.spine.examples.blog.commands.CreateBlog;
 import io.spine.examples.blog.commands.CreatePost;
+import io.spine.examples.blog.server.blog.BlogMembership;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -40,6 +41,8 @@ import org.junit.jupiter.api.Test;
 import static com.google.common.truth.extensions.proto.ProtoTruth.assertThat;
 import static io.spine.protobuf.AnyPacker.unpack;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DisplayName("Blog Command Side should")
 class CommandSideTest extends BlogServerTest {
@@ -77,13 +80,15 @@ class CommandSideTest extends BlogServerTest {
                 .newBuilder()
                 .setId(blogId)
                 .setTitle(createBlog.getTitle())
-                .addPost(postId)
+                .setPostCount(1)
                 .build();
 
         Blog blog = (Blog) unpack(blogResponse.getMessage(0).getState());
         assertThat(blog)
                 .comparingExpectedFieldsOnly()
                 .isEqualTo(expected);
+        assertTrue(BlogMembership.contains(blog, postId));
+        assertFalse(BlogMembership.contains(blog, PostId.generate()));
     }
 
     @Test
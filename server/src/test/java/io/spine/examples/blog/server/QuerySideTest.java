@@ -26,11 +26,15 @@
 
 package io.spine.examples.blog.server;
 
+import io.spine.client.EntityStateWithVersion;
 import io.spine.client.QueryResponse;
 import io.spine.examples.blog.BlogId;
+import io.spine.examples.blog.BlogPage;
+import io.spine.examples.blog.BlogPageId;
 import io.spine.examples.blog.BlogView;
+import io.spine.examples.blog.PostBody;
 import io.spine.examples.blog.PostId;
-import io.spine.examples.blog.PostItem;
+import io.spine.examples.blog.PostSummary;
 import io.spine.examples.blog.commands.CreateBlog;
 import io.spine.examples.blog.commands.CreatePost;
 import io.spine.examples.blog.commands.PublishPost;
@@ -38,13 +42,20 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import static com.google.common.truth.extensions.proto.ProtoTruth.assertThat;
 import static io.spine.protobuf.AnyPacker.unpack;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 
 @DisplayName("Blog Query Side should")
 class QuerySideTest extends BlogServerTest {
 
+    /** The number of posts on a page of a blog. */
+    private static final int PAGE_SIZE = 20;
+
     private final BlogId blog = BlogId.generate();
     private PostId publishedPost;
 
@@ -61,12 +72,30 @@ class QuerySideTest extends BlogServerTest {
         CreatePost createPost2 = createPost(publishedPost, blog, "Published Post");
         send(createPost2);
 
-        PublishPost publishPost2 = PublishPost
+        send(publishPost(publishedPost));
+    }
+
+    /**
+     * Creates and publishes the given number of posts in the blog.
+     *
+     * @return the ID of the last published post
+     */
+    private PostId publishMore(int count) {
+        PostId post = publishedPost;
+        for (int i = 0; i < count; i++) {
+            post = PostId.generate();
+            send(createPost(post, blog, "Post #" + i));
+            send(publishPost(post));
+        }
+        return post;
+    }
+
+    private PublishPost publishPost(PostId post) {
+        return PublishPost
                 .newBuilder()
-                .setPost(publishedPost)
+                .setPost(post)
                 .setBlog(blog)
                 .build();
-        send(publishPost2);
     }
 
     @Test
@@ -78,8 +107,9 @@ class QuerySideTest extends BlogServerTest {
         BlogView expected = BlogView
                 .newBuilder()
                 .setId(blog)
-                .addPost(PostItem.newBuilder()
-                                 .setId(publishedPost))
+                .addPost(PostSummary.newBuilder()
+                                    .setId(publishedPost))
+                .setPublishedCount(1)
                 .buildPartial();
 
         BlogView blogView = (BlogView) unpack(response.getMessage(0).getState());
@@ -87,4 +117,85 @@ class QuerySideTest extends BlogServerTest {
                 .comparingExpectedFieldsOnly()
                 .isEqualTo(expected);
     }
+
+    @Test
+    @DisplayName("return pages of published blog posts")
+    void queryBlogPages() {
+        QueryResponse response = queryAll(BlogPage.class);
+        assertEquals(1, response.getMessageCount());
+
+        BlogPageId firstPage = BlogPageId
+                .newBuilder()
+                .setBlog(blog)
+                .setNumber(0)
+                .build();
+        BlogPage expected = BlogPage
+                .newBuilder()
+                .setId(firstPage)
+                .addPost(PostSummary.newBuilder()
+                                    .setId(publishedPost))
+                .buildPartial();
+
+        BlogPage page = (BlogPage) unpack(response.getMessage(0).getState());
+        assertThat(page)
+                .comparingExpectedFieldsOnly()
+                .isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("keep only a page of the latest posts in the blog view")
+    void trimBlogView() {
+        PostId latest = publishMore(PAGE_SIZE + 1);
+
+        QueryResponse response = queryAll(BlogView.class);
+        BlogView view = (BlogView) unpack(response.getMessage(0).getState());
+        assertThat(view.getPostList())
+                .hasSize(PAGE_SIZE);
+        assertEquals(PAGE_SIZE + 2, view.getPublishedCount());
+        assertEquals(latest, view.getPost(0).getId());
+        assertFalse(view.getPostList()
+                        .stream()
+                        .anyMatch(post -> post.getId().equals(publishedPost)));
+    }
+
+    @Test
+    @DisplayName("start a new page when the previous one is full")
+    void rollOverPage() {
+        PostId latest = publishMore(PAGE_SIZE + 1);
+
+        QueryResponse response = queryAll(BlogPage.class);
+        assertEquals(2, response.getMessageCount());
+
+        Map<Integer, BlogPage> pages = new HashMap<>();
+        for (EntityStateWithVersion state : response.getMessageList()) {
+            BlogPage page = (BlogPage) unpack(state.getState());
+            pages.put(page.getId().getNumber(), page);
+        }
+        BlogPage first = pages.get(0);
+        assertThat(first.getPostList())
+                .hasSize(PAGE_SIZE);
+        assertEquals(publishedPost, first.getPost(0).getId());
+
+        BlogPage second = pages.get(1);
+        assertThat(second.getPostList())
+                .hasSize(2);
+        assertEquals(latest, second.getPost(1).getId());
+    }
+
+    @Test
+    @DisplayName("return bodies of published posts only")
+    void queryPostBodies() {
+        QueryResponse response = queryAll(PostBody.class);
+        assertEquals(1, response.getMessageCount());
+
+        PostBody expected = PostBody
+                .newBuilder()
+                .setId(publishedPost)
+                .buildPartial();
+
+        PostBody body = (PostBody) unpack(response.getMessage(0).getState());
+        assertThat(body)
+                .comparingExpectedFieldsOnly()
+                .isEqualTo(expected);
+    }
 }
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.server.blog;
+
+import io.spine.examples.blog.Blog;
+import io.spine.examples.blog.BlogId;
+import io.spine.examples.blog.PostId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.examples.blog.server.blog.BlogMembership.MAX_UNFILTERED;
+
+@DisplayName("BlogMembership should")
+class BlogMembershipTest {
+
+    /** The number of posts added to check the membership of each of them. */
+    private static final int POST_COUNT = 1_000;
+
+    /** The number of posts added to check the size of the filter. */
+    private static final int LARGE_POST_COUNT = 100_000;
+
+    @Test
+    @DisplayName("keep no filter unless enabled")
+    void noFilter() {
+        Blog.Builder blog = newBlog();
+        List<PostId> posts = addPosts(blog, POST_COUNT, false);
+
+        assertThat(blog.getPostFilter()
+                       .isEmpty()).isTrue();
+        assertThat(blog.getPostCount()).isEqualTo(POST_COUNT);
+        assertContains(blog.build(), posts);
+    }
+
+    @Test
+    @DisplayName("grow the filter with the blog")
+    void growFilter() {
+        Blog.Builder blog = newBlog();
+        addPosts(blog, MAX_UNFILTERED, true);
+        int initialSize = blog.getPostFilter()
+                              .size();
+
+        addPosts(blog, LARGE_POST_COUNT - MAX_UNFILTERED, true);
+
+        assertThat(blog.getFilteredCount()).isAtLeast(LARGE_POST_COUNT - MAX_UNFILTERED);
+        assertThat(blog.getPostFilter()
+                       .size()).isAtLeast(blog.getFilteredCount());
+        assertThat(blog.getPostFilter()
+                       .size()).isGreaterThan(initialSize);
+    }
+
+    @Test
+    @DisplayName("find the filtered and the unfiltered posts")
+    void findPosts() {
+        Blog.Builder blog = newBlog();
+        List<PostId> posts = addPosts(blog, POST_COUNT + MAX_UNFILTERED / 2, true);
+
+        assertThat(blog.getFilteredCount()).isLessThan(blog.getPostCount());
+        assertContains(blog.build(), posts);
+    }
+
+    @Test
+    @DisplayName("find the posts with IDs other than UUIDs")
+    void findNonUuid() {
+        Blog.Builder blog = newBlog();
+        addPosts(blog, MAX_UNFILTERED, true);
+        PostId post = PostId
+                .newBuilder()
+                .setUuid("imported-post-1")
+                .build();
+        BlogMembership.add(blog, post, true);
+
+        assertThat(BlogMembership.contains(blog.build(), post)).isTrue();
+    }
+
+    @Test
+    @DisplayName("drop the filter when disabled")
+    void dropFilter() {
+        Blog.Builder blog = newBlog();
+        List<PostId> posts = addPosts(blog, MAX_UNFILTERED, true);
+        assertThat(blog.getPostFilter()
+                       .isEmpty()).isFalse();
+
+        posts.addAll(addPosts(blog, 1, false));
+
+        assertThat(blog.getPostFilter()
+                       .isEmpty()).isTrue();
+        assertThat(blog.getFilteredCount()).isEqualTo(0);
+        assertContains(blog.build(), posts);
+    }
+
+    private static Blog.Builder newBlog() {
+        return Blog.newBuilder()
+                   .setId(BlogId.generate());
+    }
+
+    private static List<PostId> addPosts(Blog.Builder blog, int count, boolean filtered) {
+        List<PostId> posts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            PostId post = PostId.generate();
+            BlogMembership.add(blog, post, filtered);
+            posts.add(post);
+        }
+        return posts;
+    }
+
+    private static void assertContains(Blog blog, List<PostId> posts) {
+        for (PostId post : posts) {
+            assertThat(BlogMembership.contains(blog, post)).isTrue();
+        }
+        for (int i = 0; i < posts.size(); i++) {
+            assertThat(BlogMembership.contains(blog, PostId.generate())).isFalse();
+        }
+    }
+}
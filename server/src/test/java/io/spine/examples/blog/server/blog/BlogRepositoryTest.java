@@ -0,0 +1,116 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.server.blog;
+
+import io.spine.examples.blog.BlogId;
+import io.spine.examples.blog.PostId;
+import io.spine.examples.blog.commands.CreateBlog;
+import io.spine.examples.blog.events.PostCreated;
+import io.spine.server.BoundedContext;
+import io.spine.testing.server.blackbox.BlackBoxContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@DisplayName("BlogRepository should")
+class BlogRepositoryTest {
+
+    /**
+     * The snapshot trigger which differs from the {@linkplain BlogRepository#DEFAULT_SNAPSHOT_TRIGGER
+     * default} one, so that the test fails if the configured trigger is ignored.
+     */
+    private static final int SNAPSHOT_TRIGGER = 25;
+
+    /**
+     * The number of posts added to the blog.
+     *
+     * <p>Each post produces an event in the history of the blog. The number is chosen so that
+     * the replay lengths measured by the test are not less than {@link #SNAPSHOT_TRIGGER} with
+     * the default trigger.
+     */
+    private static final int POST_COUNT = 10_080;
+
+    private final BlogId blog = BlogId.generate();
+
+    private BlogRepository repository;
+    private BlackBoxContext context;
+
+    @BeforeEach
+    void setUp() {
+        repository = new BlogRepository(SNAPSHOT_TRIGGER);
+        context = BlackBoxContext.from(
+                BoundedContext.singleTenant("Blog")
+                              .add(repository)
+        );
+        CreateBlog createBlog = CreateBlog
+                .newBuilder()
+                .setId(blog)
+                .setTitle("Snapshot Test Blog")
+                .vBuild();
+        context.receivesCommand(createBlog);
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.close();
+    }
+
+    @Test
+    @DisplayName("keep the replay length of a blog bounded by the snapshot trigger")
+    void boundReplayLength() {
+        int half = POST_COUNT / 2;
+        addPosts(half);
+        int replayLengthAtHalf = repository.replayLength(blog);
+        addPosts(POST_COUNT - half);
+        int replayLengthAtFull = repository.replayLength(blog);
+
+        assertThat(SNAPSHOT_TRIGGER).isLessThan(BlogRepository.DEFAULT_SNAPSHOT_TRIGGER);
+        assertThat(replayLengthAtHalf).isLessThan(SNAPSHOT_TRIGGER);
+        assertThat(replayLengthAtFull).isLessThan(SNAPSHOT_TRIGGER);
+    }
+
+    @Test
+    @DisplayName("report no replay for a missing blog")
+    void noReplayForMissing() {
+        assertThat(repository.replayLength(BlogId.generate())).isEqualTo(0);
+    }
+
+    private void addPosts(int count) {
+        for (int i = 0; i < count; i++) {
+            PostCreated event = PostCreated
+                    .newBuilder()
+                    .setId(PostId.generate())
+                    .setBlog(blog)
+                    .setTitle("Post #" + i)
+                    .vBuild();
+            context.receivesEvent(event);
+        }
+    }
+}
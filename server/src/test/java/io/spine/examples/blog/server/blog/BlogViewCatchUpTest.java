@@ -0,0 +1,204 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.server.blog;
+
+import com.google.protobuf.Timestamp;
+import io.spine.base.Time;
+import io.spine.examples.blog.BlogId;
+import io.spine.examples.blog.events.BlogCreated;
+import io.spine.server.BoundedContext;
+import io.spine.testing.server.blackbox.BlackBoxContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("BlogViewCatchUp should")
+class BlogViewCatchUpTest {
+
+    private static final int BLOG_COUNT = 4;
+
+    @TempDir
+    Path directory;
+
+    private final List<BlogId> blogs = new ArrayList<>();
+
+    private BlogViewRepository repository;
+    private BlackBoxContext context;
+    private Timestamp since;
+    private Path checkpoint;
+
+    @BeforeEach
+    void setUp() {
+        repository = new BlogViewRepository();
+        context = BlackBoxContext.from(
+                BoundedContext.singleTenant("Blog")
+                              .add(repository)
+                              .addEventDispatcher(repository.catchUpWatcher())
+        );
+        since = Time.currentTime();
+        for (int i = 0; i < BLOG_COUNT; i++) {
+            BlogId blog = BlogId.generate();
+            blogs.add(blog);
+            context.receivesEvent(BlogCreated.newBuilder()
+                                             .setId(blog)
+                                             .setTitle("Blog #" + i)
+                                             .vBuild());
+        }
+        checkpoint = directory.resolve("rebuild.checkpoint");
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.close();
+    }
+
+    @Test
+    @DisplayName("rebuild the views and record them to the checkpoint")
+    void rebuild() throws InterruptedException, IOException {
+        BlogViewCatchUp catchUp = catchUp(Duration.ZERO);
+        catchUp.run(since, blogs);
+
+        assertThat(catchUp.caughtUpCount()).isEqualTo(BLOG_COUNT);
+        for (int i = 0; i < BLOG_COUNT; i++) {
+            String title = repository.find(blogs.get(i))
+                                     .orElseThrow(AssertionError::new)
+                                     .state()
+                                     .getTitle();
+            assertThat(title).isEqualTo("Blog #" + i);
+        }
+        assertThat(checkpointed()).hasSize(BLOG_COUNT);
+        assertThat(watcher().awaitedCount()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("resume an interrupted rebuild from the checkpoint")
+    void resume() throws InterruptedException, IOException {
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread rebuild = new Thread(() -> {
+            try {
+                catchUp(Duration.ofHours(1)).run(since, blogs);
+            } catch (InterruptedException | RuntimeException e) {
+                failure.set(e);
+            }
+        });
+        rebuild.start();
+        awaitCheckpoint();
+        rebuild.interrupt();
+        rebuild.join();
+
+        assertThat(failure.get()).isInstanceOf(InterruptedException.class);
+        assertThat(checkpointed()).hasSize(1);
+
+        BlogViewCatchUp resumed = catchUp(Duration.ZERO);
+        resumed.run(since, blogs);
+
+        assertThat(resumed.totalCount()).isEqualTo(BLOG_COUNT - 1);
+        assertThat(resumed.caughtUpCount()).isEqualTo(BLOG_COUNT - 1);
+        assertThat(checkpointed()).containsExactlyElementsIn(uuids());
+    }
+
+    @Test
+    @DisplayName("fail a chunk which is not caught up in time")
+    void failOnTimeout() throws IOException {
+        BlogViewRepository unwatched = new BlogViewRepository();
+        BlackBoxContext unwatchedContext = BlackBoxContext.from(
+                BoundedContext.singleTenant("Unwatched Blog")
+                              .add(unwatched)
+        );
+        try {
+            BlogViewCatchUp catchUp = BlogViewCatchUp.newBuilder()
+                                                     .setRepository(unwatched)
+                                                     .setChunkSize(BLOG_COUNT)
+                                                     .setChunkTimeout(Duration.ofMillis(100))
+                                                     .setChunkAttempts(2)
+                                                     .setCheckpoint(checkpoint)
+                                                     .build();
+
+            assertThrows(IllegalStateException.class, () -> catchUp.run(since, blogs));
+            assertThat(catchUp.caughtUpCount()).isEqualTo(0);
+            assertThat(checkpointed()).isEmpty();
+            CatchUpWatcher watcher = (CatchUpWatcher) unwatched.catchUpWatcher();
+            assertThat(watcher.awaitedCount()).isEqualTo(0);
+        } finally {
+            unwatchedContext.close();
+        }
+    }
+
+    /**
+     * Creates a catch-up of a view per chunk, which pauses for the given time after each chunk.
+     */
+    private BlogViewCatchUp catchUp(Duration pause) {
+        return BlogViewCatchUp.newBuilder()
+                              .setRepository(repository)
+                              .setChunkSize(1)
+                              .setParallelism(1)
+                              .setPause(pause)
+                              .setCheckpoint(checkpoint)
+                              .build();
+    }
+
+    private void awaitCheckpoint() throws InterruptedException, IOException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10)
+                                                    .toNanos();
+        while (checkpointed().isEmpty()) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private List<String> checkpointed() throws IOException {
+        return Files.exists(checkpoint)
+               ? Files.readAllLines(checkpoint, UTF_8)
+               : new ArrayList<>();
+    }
+
+    private List<String> uuids() {
+        List<String> result = new ArrayList<>();
+        for (BlogId blog : blogs) {
+            result.add(blog.getUuid());
+        }
+        return result;
+    }
+
+    private CatchUpWatcher watcher() {
+        return (CatchUpWatcher) repository.catchUpWatcher();
+    }
+}
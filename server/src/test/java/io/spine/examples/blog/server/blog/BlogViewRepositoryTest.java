@@ -0,0 +1,194 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.server.blog;
+
+import io.spine.client.IdFilter;
+import io.spine.client.ResponseFormat;
+import io.spine.client.TargetFilters;
+import io.spine.core.Version;
+import io.spine.examples.blog.BlogId;
+import io.spine.examples.blog.BlogView;
+import io.spine.examples.blog.PostId;
+import io.spine.examples.blog.events.BlogCreated;
+import io.spine.examples.blog.events.PostListed;
+import io.spine.server.BoundedContext;
+import io.spine.server.entity.EntityRecord;
+import io.spine.testing.server.blackbox.BlackBoxContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.examples.blog.server.blog.BlogPages.pageOf;
+import static io.spine.protobuf.AnyPacker.pack;
+import static io.spine.protobuf.AnyPacker.unpack;
+
+@DisplayName("BlogViewRepository in the write-behind mode should")
+class BlogViewRepositoryTest {
+
+    private static final Duration LONG_INTERVAL = Duration.ofHours(1);
+
+    private final BlogId blog = BlogId.generate();
+    private final List<BlogView> stored = new ArrayList<>();
+
+    private BlogViewRepository repository;
+    private BlackBoxContext context;
+
+    private void createContext(int maxDirty) {
+        repository = new BlogViewRepository(LONG_INTERVAL, maxDirty);
+        repository.addListener((BlogView view, Version version) -> stored.add(view));
+        context = BlackBoxContext.from(
+                BoundedContext.singleTenant("Blog")
+                              .add(repository)
+        );
+        BlogCreated created = BlogCreated
+                .newBuilder()
+                .setId(blog)
+                .setTitle("Write-behind Test Blog")
+                .vBuild();
+        context.receivesEvent(created);
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.close();
+    }
+
+    @Test
+    @DisplayName("apply the events to the view held in memory")
+    void keepInMemory() {
+        createContext(100);
+        listPosts(5);
+
+        assertThat(repository.dirtyCount()).isEqualTo(1);
+        assertThat(publishedCount()).isEqualTo(5);
+        assertThat(stored).hasSize(6);
+    }
+
+    @Test
+    @DisplayName("keep the latest view after flushing")
+    void flush() {
+        createContext(100);
+        listPosts(3);
+        repository.flush();
+        listPosts(2);
+        repository.flush();
+
+        assertThat(repository.dirtyCount()).isEqualTo(0);
+        assertThat(publishedCount()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("write the views when there are too many of them")
+    void flushWhenFull() {
+        createContext(1);
+        BlogId other = BlogId.generate();
+        context.receivesEvent(BlogCreated.newBuilder()
+                                         .setId(other)
+                                         .setTitle("Another Blog")
+                                         .vBuild());
+
+        assertThat(repository.dirtyCount()).isEqualTo(0);
+        assertThat(repository.find(other)).isPresent();
+    }
+
+    @Test
+    @DisplayName("write the view after an event which made no change to it")
+    void flushUnchanged() {
+        createContext(100);
+        listPosts(2);
+        context.receivesEvent(BlogCreated.newBuilder()
+                                         .setId(blog)
+                                         .setTitle("Write-behind Test Blog")
+                                         .vBuild());
+        repository.flush();
+
+        assertThat(repository.dirtyCount()).isEqualTo(0);
+        assertThat(publishedCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("return a copy of the changed view")
+    void findCopy() {
+        createContext(100);
+        listPosts(1);
+        BlogViewProjection found = repository.find(blog)
+                                             .orElseThrow(AssertionError::new);
+        listPosts(1);
+
+        assertThat(found.state()
+                        .getPublishedCount()).isEqualTo(1);
+        assertThat(publishedCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("show the changed views to the queries without writing them")
+    void queryUnwritten() {
+        createContext(100);
+        listPosts(3);
+        TargetFilters byId = TargetFilters
+                .newBuilder()
+                .setIdFilter(IdFilter.newBuilder()
+                                     .addId(pack(blog)))
+                .build();
+        Iterator<EntityRecord> records =
+                repository.findRecords(byId, ResponseFormat.getDefaultInstance());
+
+        BlogView view = unpack(records.next()
+                                      .getState(), BlogView.class);
+        assertThat(view.getPublishedCount()).isEqualTo(3);
+        assertThat(records.hasNext()).isFalse();
+        assertThat(repository.dirtyCount()).isEqualTo(1);
+    }
+
+    private int publishedCount() {
+        return repository.find(blog)
+                         .orElseThrow(AssertionError::new)
+                         .state()
+                         .getPublishedCount();
+    }
+
+    private void listPosts(int count) {
+        int first = stored.get(stored.size() - 1)
+                          .getPublishedCount();
+        for (int position = first; position < first + count; position++) {
+            PostListed event = PostListed
+                    .newBuilder()
+                    .setPost(PostId.generate())
+                    .setPage(pageOf(blog, position))
+                    .setPosition(position)
+                    .setTitle("Post #" + position)
+                    .vBuild();
+            context.receivesEvent(event);
+        }
+    }
+}
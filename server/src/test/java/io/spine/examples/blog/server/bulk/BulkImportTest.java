@@ -0,0 +1,178 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.server.bulk;
+
+import com.google.protobuf.Message;
+import io.spine.base.EntityState;
+import io.spine.client.Query;
+import io.spine.client.QueryResponse;
+import io.spine.examples.blog.Blog;
+import io.spine.examples.blog.BlogContext;
+import io.spine.examples.blog.BlogId;
+import io.spine.examples.blog.BlogPage;
+import io.spine.examples.blog.BlogView;
+import io.spine.examples.blog.PostBody;
+import io.spine.examples.blog.PostId;
+import io.spine.examples.blog.export.ExportRecord;
+import io.spine.examples.blog.export.ExportedBlog;
+import io.spine.examples.blog.export.ExportedPost;
+import io.spine.examples.blog.server.blog.BlogMembership;
+import io.spine.examples.blog.server.journal.CommandJournal;
+import io.spine.grpc.MemoizingObserver;
+import io.spine.json.Json;
+import io.spine.server.BoundedContext;
+import io.spine.server.QueryService;
+import io.spine.testing.client.TestActorRequestFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.grpc.StreamObservers.memoizingObserver;
+import static io.spine.protobuf.AnyPacker.unpack;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("BulkImport should")
+class BulkImportTest {
+
+    private final TestActorRequestFactory requests =
+            new TestActorRequestFactory(BulkImportTest.class);
+
+    private final BlogId blog = BlogId.generate();
+    private final PostId draft = PostId.generate();
+    private final PostId published = PostId.generate();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("import the blogs and the posts restored on the next start")
+    void importFile() throws Exception {
+        Path file = export(blogRecord(),
+                           postRecord(draft, "Draft Post", false),
+                           postRecord(published, "Published Post", true));
+        try (CommandJournal journal = CommandJournal.open(directory)) {
+            BulkImport.importFile(file, journal);
+        }
+        try (CommandJournal journal = CommandJournal.open(directory)) {
+            BoundedContext context = BlogContext.create(BlogContext.builder(), journal);
+            try {
+                Blog state = queryOne(context, Blog.class);
+                assertThat(state.getPostCount()).isEqualTo(2);
+                assertThat(state.getPublishedCount()).isEqualTo(1);
+                assertThat(BlogMembership.contains(state, draft)).isTrue();
+
+                BlogView view = queryOne(context, BlogView.class);
+                assertThat(view.getTitle()).isEqualTo("Imported Blog");
+                assertThat(view.getPublishedCount()).isEqualTo(1);
+                assertThat(view.getPostCount()).isEqualTo(1);
+                assertThat(view.getPost(0).getId()).isEqualTo(published);
+
+                BlogPage page = queryOne(context, BlogPage.class);
+                assertThat(page.getPost(0).getId()).isEqualTo(published);
+
+                PostBody body = queryOne(context, PostBody.class);
+                assertThat(body.getId()).isEqualTo(published);
+            } finally {
+                context.close();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("reject a post which goes before its blog")
+    void rejectPostBeforeBlog() throws IOException {
+        Path file = export(postRecord(published, "Orphan Post", true),
+                           blogRecord());
+        try (CommandJournal journal = CommandJournal.open(directory)) {
+            assertThrows(IllegalArgumentException.class,
+                         () -> BulkImport.importFile(file, journal));
+        }
+    }
+
+    private Path export(ExportRecord... records) throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (ExportRecord record : records) {
+            lines.add(Json.toCompactJson(record));
+        }
+        Path file = directory.resolve("export.ndjson");
+        Files.write(file, lines, UTF_8);
+        return file;
+    }
+
+    private ExportRecord blogRecord() {
+        ExportedBlog exported = ExportedBlog
+                .newBuilder()
+                .setId(blog)
+                .setTitle("Imported Blog")
+                .build();
+        return ExportRecord
+                .newBuilder()
+                .setBlog(exported)
+                .build();
+    }
+
+    private ExportRecord postRecord(PostId post, String title, boolean isPublished) {
+        ExportedPost exported = ExportedPost
+                .newBuilder()
+                .setId(post)
+                .setBlog(blog)
+                .setTitle(title)
+                .setBody("The body of " + title + '.')
+                .setPublished(isPublished)
+                .build();
+        return ExportRecord
+                .newBuilder()
+                .setPost(exported)
+                .build();
+    }
+
+    /**
+     * Queries the only entity of the given type.
+     */
+    private <S extends EntityState> S queryOne(BoundedContext context, Class<S> type) {
+        QueryService service = QueryService
+                .newBuilder()
+                .add(context)
+                .build();
+        Query query = requests.query()
+                              .all(type);
+        MemoizingObserver<QueryResponse> observer = memoizingObserver();
+        service.read(query, observer);
+        QueryResponse response = observer.firstResponse();
+        assertThat(response.getMessageList()).hasSize(1);
+        Message state = unpack(response.getMessage(0).getState());
+        return type.cast(state);
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.server.dedup;
+
+import io.spine.core.Ack;
+import io.spine.core.Command;
+import io.spine.examples.blog.Blog;
+import io.spine.examples.blog.BlogId;
+import io.spine.examples.blog.commands.CreateBlog;
+import io.spine.examples.blog.events.BlogCreated;
+import io.spine.examples.blog.server.blog.BlogRepository;
+import io.spine.examples.blog.server.metrics.RecordingReporter;
+import io.spine.grpc.MemoizingObserver;
+import io.spine.server.BoundedContext;
+import io.spine.server.aggregate.Aggregate;
+import io.spine.server.aggregate.AggregateRepository;
+import io.spine.server.aggregate.Apply;
+import io.spine.server.command.Assign;
+import io.spine.testing.client.TestActorRequestFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.grpc.StreamObservers.memoizingObserver;
+
+@DisplayName("DuplicateCommandFilter should")
+class DuplicateCommandFilterTest {
+
+    private static final String HITS =
+            "blog_aggregate_cache_hits_total{repository=BlogRepository}";
+    private static final String MISSES =
+            "blog_aggregate_cache_misses_total{repository=BlogRepository}";
+
+    private final TestActorRequestFactory requests =
+            new TestActorRequestFactory(DuplicateCommandFilterTest.class);
+
+    private DuplicateCommandFilter filter;
+    private BoundedContext context;
+    private Command createBlog;
+
+    @BeforeEach
+    void setUp() {
+        filter = DuplicateCommandFilter.create(Duration.ofMinutes(1), 100);
+        context = BoundedContext
+                .singleTenant("Blog")
+                .add(new BlogRepository(100, 10))
+                .addCommandFilter(filter)
+                .addEventDispatcher(filter.failureWatcher())
+                .build();
+        createBlog = requests.command()
+                             .create(CreateBlog.newBuilder()
+                                               .setId(BlogId.generate())
+                                               .setTitle("Deduplicated Blog")
+                                               .vBuild());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        context.close();
+    }
+
+    @Test
+    @DisplayName("acknowledge a repeated command without loading the aggregate")
+    void dropDuplicate() {
+        Ack first = post(createBlog);
+        Ack repeated = post(createBlog);
+
+        assertThat(first.getStatus()
+                        .hasOk()).isTrue();
+        assertThat(repeated.getStatus()
+                           .hasOk()).isTrue();
+        assertThat(loads()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("pass a command again after its handler failed")
+    void passAfterFailure() throws Exception {
+        DuplicateCommandFilter watched = DuplicateCommandFilter.create(Duration.ofMinutes(1), 100);
+        BoundedContext failing = BoundedContext
+                .singleTenant("Failing")
+                .add(new FailingBlogRepository())
+                .addCommandFilter(watched)
+                .addEventDispatcher(watched.failureWatcher())
+                .build();
+        FailingBlog.attempts.set(0);
+        try {
+            post(failing, createBlog);
+            post(failing, createBlog);
+        } finally {
+            failing.close();
+        }
+
+        assertThat(FailingBlog.attempts.get()).isEqualTo(2);
+    }
+
+    private Ack post(Command command) {
+        return post(context, command);
+    }
+
+    private static Ack post(BoundedContext context, Command command) {
+        MemoizingObserver<Ack> observer = memoizingObserver();
+        context.commandBus()
+               .post(command, observer);
+        return observer.firstResponse();
+    }
+
+    /**
+     * Obtains the number of times the blog was loaded by its repository.
+     */
+    private static long loads() {
+        RecordingReporter metrics = RecordingReporter.ofShared();
+        return metrics.counter(HITS) + metrics.counter(MISSES);
+    }
+
+    /**
+     * A blog whose handler fails the first time it is called.
+     */
+    static final class FailingBlog extends Aggregate<BlogId, Blog, Blog.Builder> {
+
+        private static final AtomicInteger attempts = new AtomicInteger();
+
+        FailingBlog(BlogId id) {
+            super(id);
+        }
+
+        @Assign
+        BlogCreated handle(CreateBlog c) {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("The first attempt to create a blog fails.");
+            }
+            return BlogCreated
+                    .newBuilder()
+                    .setId(c.getId())
+                    .setTitle(c.getTitle())
+                    .vBuild();
+        }
+
+        @Apply
+        private void event(BlogCreated e) {
+            builder().setTitle(e.getTitle());
+        }
+    }
+
+    /**
+     * The repository of {@link FailingBlog}s.
+     */
+    static final class FailingBlogRepository extends AggregateRepository<BlogId, FailingBlog> {
+    }
+}
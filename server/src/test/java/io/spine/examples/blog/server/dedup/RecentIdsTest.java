@@ -0,0 +1,121 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.server.dedup;
+
+import com.google.common.base.Ticker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@DisplayName("RecentIds should")
+class RecentIdsTest {
+
+    private static final Duration WINDOW = Duration.ofMinutes(4);
+
+    private final ManualTicker ticker = new ManualTicker();
+    private RecentIds ids;
+
+    @BeforeEach
+    void createIds() {
+        ids = new RecentIds(WINDOW, 1_000, ticker);
+    }
+
+    @Test
+    @DisplayName("tell the IDs seen before")
+    void detectDuplicates() {
+        assertThat(ids.add(42)).isTrue();
+        assertThat(ids.add(43)).isTrue();
+        assertThat(ids.add(42)).isFalse();
+        assertThat(ids.add(0)).isTrue();
+        assertThat(ids.add(0)).isFalse();
+    }
+
+    @Test
+    @DisplayName("forget a removed ID and keep the others")
+    void remove() {
+        long colliding = 42 + 512;
+        ids.add(42);
+        ids.add(colliding);
+        ids.add(colliding + 512);
+        ids.remove(colliding);
+
+        assertThat(ids.add(42)).isFalse();
+        assertThat(ids.add(colliding + 512)).isFalse();
+        assertThat(ids.add(colliding)).isTrue();
+    }
+
+    @Test
+    @DisplayName("remember the IDs for most of the window")
+    void rememberWithinWindow() {
+        ids.add(42);
+        ticker.advance(Duration.ofMinutes(3));
+
+        assertThat(ids.add(42)).isFalse();
+    }
+
+    @Test
+    @DisplayName("forget the IDs after the window")
+    void forgetAfterWindow() {
+        ids.add(42);
+        ticker.advance(WINDOW.plusSeconds(1));
+
+        assertThat(ids.add(42)).isTrue();
+    }
+
+    @Test
+    @DisplayName("remember at most the given number of IDs")
+    void boundSize() {
+        for (long id = 1; id <= 10_000; id++) {
+            ids.add(id * 0x9E3779B97F4A7C15L);
+        }
+
+        assertThat(ids.size()).isAtMost(1_000);
+        assertThat(ids.add(10_000 * 0x9E3779B97F4A7C15L)).isFalse();
+        assertThat(ids.add(0x9E3779B97F4A7C15L)).isTrue();
+    }
+
+    /**
+     * A ticker which is advanced by the test.
+     */
+    private static final class ManualTicker extends Ticker {
+
+        private long nanos;
+
+        @Override
+        public long read() {
+            return nanos;
+        }
+
+        private void advance(Duration duration) {
+            nanos += duration.toNanos();
+        }
+    }
+}
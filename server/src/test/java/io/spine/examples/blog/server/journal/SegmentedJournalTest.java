@@ -0,0 +1,171 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.server.journal;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("SegmentedJournal should")
+class SegmentedJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("read records in the order of appending after reopening")
+    void replayAfterReopen() {
+        try (SegmentedJournal journal = SegmentedJournal.open(directory)) {
+            journal.append(bytes("first"));
+            journal.append(bytes("second"));
+        }
+        try (SegmentedJournal journal = SegmentedJournal.open(directory)) {
+            journal.append(bytes("third"));
+            assertThat(records(journal)).containsExactly("first", "second", "third")
+                                        .inOrder();
+        }
+    }
+
+    @Test
+    @DisplayName("cut off an incomplete record")
+    void truncateIncomplete() throws IOException {
+        try (SegmentedJournal journal = SegmentedJournal.open(directory)) {
+            journal.append(bytes("complete"));
+            journal.append(bytes("torn"));
+        }
+        Path segment = onlySegment();
+        try (FileChannel channel = FileChannel.open(segment, WRITE)) {
+            channel.truncate(channel.size() - 1);
+        }
+        try (SegmentedJournal journal = SegmentedJournal.open(directory)) {
+            journal.append(bytes("next"));
+            assertThat(records(journal)).containsExactly("complete", "next")
+                                        .inOrder();
+        }
+    }
+
+    @Test
+    @DisplayName("fail the replay on an invalid record before the last segment")
+    void failOnCorrupted() throws IOException {
+        try (SegmentedJournal journal = SegmentedJournal.open(directory)) {
+            journal.append(bytes("corrupted"));
+            journal.append(bytes("lost"));
+        }
+        Path segment = onlySegment();
+        try (FileChannel channel = FileChannel.open(segment, WRITE)) {
+            channel.write(ByteBuffer.wrap(bytes("C")), 2 * Integer.BYTES);
+        }
+        Files.createFile(directory.resolve(String.format("%020d.segment", 1)));
+        try (SegmentedJournal journal = SegmentedJournal.open(directory)) {
+            IllegalStateException exception =
+                    assertThrows(IllegalStateException.class, () -> records(journal));
+            assertThat(exception).hasMessageThat()
+                                 .contains(segment.getFileName()
+                                                  .toString());
+        }
+    }
+
+    @Test
+    @DisplayName("not be opened twice")
+    void lock() {
+        try (SegmentedJournal journal = SegmentedJournal.open(directory)) {
+            assertThrows(IllegalStateException.class, () -> SegmentedJournal.open(directory));
+        }
+    }
+
+    @Test
+    @DisplayName("reject records after it is closed")
+    void rejectAfterClose() {
+        SegmentedJournal journal = SegmentedJournal.open(directory);
+        journal.close();
+
+        assertThrows(IllegalStateException.class, () -> journal.append(bytes("late")));
+    }
+
+    @Test
+    @DisplayName("write or reject each record appended while it is closed")
+    void closeWhileAppending() throws InterruptedException {
+        SegmentedJournal journal = SegmentedJournal.open(directory);
+        int threads = 4;
+        ExecutorService appenders = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            appenders.execute(() -> {
+                try {
+                    while (true) {
+                        journal.append(bytes("record"));
+                    }
+                } catch (IllegalStateException ignored) {
+                    // The journal is closed.
+                }
+            });
+        }
+        Thread.sleep(100);
+        journal.close();
+        appenders.shutdown();
+
+        assertThat(appenders.awaitTermination(10, SECONDS)).isTrue();
+    }
+
+    private Path onlySegment() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> segments = files.filter(file -> file.toString()
+                                                           .endsWith(".segment"))
+                                       .collect(toList());
+            assertThat(segments).hasSize(1);
+            return segments.get(0);
+        }
+    }
+
+    private static List<String> records(SegmentedJournal journal) {
+        List<String> result = new ArrayList<>();
+        journal.forEach(record -> result.add(UTF_8.decode(record)
+                                                  .toString()));
+        return result;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(UTF_8);
+    }
+}
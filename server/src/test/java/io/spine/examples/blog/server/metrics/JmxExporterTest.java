@@ -0,0 +1,83 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.server.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.management.AttributeNotFoundException;
+import javax.management.MBeanAttributeInfo;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@DisplayName("JmxExporter should")
+class JmxExporterTest {
+
+    private final MetricRegistry registry = new MetricRegistry();
+    private final JmxExporter exporter = new JmxExporter(registry);
+
+    @Test
+    @DisplayName("name the attributes after the label keys and values")
+    void nameByLabels() throws AttributeNotFoundException {
+        registry.counter(MetricId.of("test_total")
+                                 .with("entity", "Blog"), () -> 1);
+        registry.counter(MetricId.of("test_total")
+                                 .with("message", "Blog"), () -> 2);
+
+        assertThat(attributeNames()).containsExactly("test_total.entity=Blog",
+                                                     "test_total.message=Blog");
+        assertThat(exporter.getAttribute("test_total.entity=Blog")).isEqualTo(1.0);
+        assertThat(exporter.getAttribute("test_total.message=Blog")).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("export a summary as a set of attributes")
+    void exportSummary() {
+        Timer timer = registry.timer(MetricId.of("test_handler")
+                                             .with("message", "CreateBlog"));
+        timer.run(() -> {});
+
+        assertThat(attributeNames()).containsAtLeast(
+                "test_handler_seconds.message=CreateBlog.count",
+                "test_handler_seconds.message=CreateBlog.sum",
+                "test_handler_seconds.message=CreateBlog.max",
+                "test_handler_seconds.message=CreateBlog.p99",
+                "test_handler_in_flight.message=CreateBlog"
+        );
+    }
+
+    private List<String> attributeNames() {
+        List<String> names = new ArrayList<>();
+        for (MBeanAttributeInfo attribute : exporter.getMBeanInfo()
+                                                    .getAttributes()) {
+            names.add(attribute.getName());
+        }
+        return names;
+    }
+}
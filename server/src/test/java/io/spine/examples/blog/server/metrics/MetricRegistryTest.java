@@ -0,0 +1,118 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.server.metrics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@DisplayName("MetricRegistry should")
+class MetricRegistryTest {
+
+    private MetricRegistry registry;
+    private RecordingReporter recording;
+
+    @BeforeEach
+    void createRegistry() {
+        registry = new MetricRegistry();
+        recording = new RecordingReporter();
+    }
+
+    @Test
+    @DisplayName("report the latencies and the operations in flight of a timer")
+    void reportTimer() {
+        MetricId id = MetricId.of("test_handler")
+                              .with("message", "CreateBlog");
+        Timer timer = registry.timer(id);
+        long running = timer.start();
+        for (int i = 0; i < 10; i++) {
+            timer.stop(timer.start());
+        }
+        registry.report(recording);
+
+        Summary summary = recording.summaries()
+                                   .get("test_handler_seconds{message=CreateBlog}");
+        assertThat(summary.count()).isEqualTo(10);
+        assertThat(summary.quantiles()).containsKey(0.99);
+        assertThat(recording.gauges()).containsEntry("test_handler_in_flight{message=CreateBlog}",
+                                                     1L);
+        timer.stop(running);
+    }
+
+    @Test
+    @DisplayName("share a timer between the callers")
+    void shareTimer() {
+        Timer timer = registry.timer(MetricId.of("test_handler"));
+
+        assertThat(registry.timer(MetricId.of("test_handler"))).isSameInstanceAs(timer);
+    }
+
+    @Test
+    @DisplayName("record the values above the highest trackable as the highest trackable")
+    void clampValues() {
+        Distribution distribution = registry.distribution(MetricId.of("test_values"), 100);
+        distribution.record(10);
+        distribution.record(1_000_000);
+        registry.report(recording);
+
+        Summary summary = recording.summaries()
+                                   .get("test_values");
+        assertThat(summary.count()).isEqualTo(2);
+        assertThat(summary.max()).isWithin(1.0)
+                                 .of(100);
+    }
+
+    @Test
+    @DisplayName("keep the summary of all the values across the reports")
+    void accumulate() {
+        Distribution distribution = registry.distribution(MetricId.of("test_values"), 100);
+        distribution.record(1);
+        registry.report(new RecordingReporter());
+        distribution.record(2);
+        registry.report(recording);
+
+        assertThat(recording.summaries()
+                            .get("test_values")
+                            .count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("report the metrics with the same name one after another")
+    void groupByName() {
+        registry.counter(MetricId.of("b_total"), () -> 1);
+        registry.counter(MetricId.of("a_total")
+                                 .with("kind", "x"), () -> 2);
+        registry.counter(MetricId.of("a_total")
+                                 .with("kind", "y"), () -> 3);
+        registry.report(recording);
+
+        assertThat(recording.names()).containsExactly("a_total", "a_total", "b_total")
+                                     .inOrder();
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.server.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link MetricsReporter} which remembers the reported metrics for the tests to check.
+ *
+ * <p>The metrics are keyed by the {@linkplain MetricId#toString() string form} of their IDs.
+ */
+public final class RecordingReporter implements MetricsReporter {
+
+    private final Map<String, Summary> summaries = new HashMap<>();
+    private final Map<String, Long> counters = new HashMap<>();
+    private final Map<String, Long> gauges = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+
+    /**
+     * Records the current values of the {@linkplain MetricRegistry#shared() shared} metrics.
+     */
+    public static RecordingReporter ofShared() {
+        RecordingReporter reporter = new RecordingReporter();
+        MetricRegistry.shared()
+                      .report(reporter);
+        return reporter;
+    }
+
+    @Override
+    public void summary(MetricId id, Summary summary) {
+        summaries.put(id.toString(), summary);
+        names.add(id.name());
+    }
+
+    @Override
+    public void counter(MetricId id, long value) {
+        counters.put(id.toString(), value);
+        names.add(id.name());
+    }
+
+    @Override
+    public void gauge(MetricId id, long value) {
+        gauges.put(id.toString(), value);
+        names.add(id.name());
+    }
+
+    /**
+     * Obtains the recorded summaries.
+     */
+    public Map<String, Summary> summaries() {
+        return Collections.unmodifiableMap(summaries);
+    }
+
+    /**
+     * Obtains the recorded values of the counters.
+     */
+    public Map<String, Long> counters() {
+        return Collections.unmodifiableMap(counters);
+    }
+
+    /**
+     * Obtains the recorded values of the gauges.
+     */
+    public Map<String, Long> gauges() {
+        return Collections.unmodifiableMap(gauges);
+    }
+
+    /**
+     * Obtains the names of the reported metrics in the order of reporting.
+     */
+    public List<String> names() {
+        return Collections.unmodifiableList(names);
+    }
+
+    /**
+     * Obtains the recorded value of the counter with the given ID, or zero if it was not
+     * reported.
+     */
+    public long counter(String id) {
+        return counters.getOrDefault(id, 0L);
+    }
+}
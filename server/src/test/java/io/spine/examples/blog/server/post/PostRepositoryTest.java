@@ -0,0 +1,185 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.server.post;
+
+import io.spine.examples.blog.BlogId;
+import io.spine.examples.blog.PostId;
+import io.spine.examples.blog.commands.CreatePost;
+import io.spine.examples.blog.commands.PublishPost;
+import io.spine.examples.blog.events.PostPublished;
+import io.spine.examples.blog.server.cache.CachingAggregateRepository;
+import io.spine.examples.blog.server.metrics.RecordingReporter;
+import io.spine.server.BoundedContext;
+import io.spine.server.aggregate.AggregateStorage;
+import io.spine.testing.server.blackbox.BlackBoxContext;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@DisplayName("PostRepository with the cache should")
+class PostRepositoryTest {
+
+    private static final String HITS =
+            "blog_aggregate_cache_hits_total{repository=PostRepository}";
+    private static final String MISSES =
+            "blog_aggregate_cache_misses_total{repository=PostRepository}";
+
+    private final BlogId blog = BlogId.generate();
+    private final PostId post = PostId.generate();
+
+    private BlackBoxContext context;
+
+    @BeforeEach
+    void setUp() {
+        PostRepository repository = new PostRepository(10);
+        context = BlackBoxContext.from(
+                BoundedContext.singleTenant("Blog")
+                              .add(repository)
+        );
+        context.receivesCommand(createPost());
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.close();
+    }
+
+    @Test
+    @DisplayName("dispatch a command to the post stored by the previous command")
+    void reuseStored() {
+        context.receivesCommand(publishPost());
+
+        context.assertEvents()
+               .withType(PostPublished.class)
+               .hasSize(1);
+        RecordingReporter metrics = RecordingReporter.ofShared();
+        assertThat(metrics.counter(HITS)).isEqualTo(1);
+        assertThat(metrics.counter(MISSES)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("keep the state of the cached post")
+    void keepState() {
+        context.receivesCommand(publishPost());
+        context.receivesCommand(publishPost());
+
+        context.assertEvents()
+               .withType(PostPublished.class)
+               .hasSize(1);
+        assertThat(RecordingReporter.ofShared()
+                                    .counter(HITS)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("load again the post written by another repository")
+    void reloadChanged() {
+        SharedStorageRepository cached = new SharedStorageRepository(10, null);
+        SharedStorageRepository other = new SharedStorageRepository(0, cached);
+        BlackBoxContext first = BlackBoxContext.from(
+                BoundedContext.singleTenant("First")
+                              .add(cached)
+        );
+        BlackBoxContext second = BlackBoxContext.from(
+                BoundedContext.singleTenant("Second")
+                              .add(other)
+        );
+        try {
+            first.receivesCommand(createPost());
+            second.receivesCommand(publishPost());
+            first.receivesCommand(publishPost());
+
+            second.assertEvents()
+                  .withType(PostPublished.class)
+                  .hasSize(1);
+            first.assertEvents()
+                 .withType(PostPublished.class)
+                 .hasSize(0);
+        } finally {
+            second.close();
+            first.close();
+        }
+    }
+
+    private CreatePost createPost() {
+        return CreatePost
+                .newBuilder()
+                .setId(post)
+                .setBlog(blog)
+                .setTitle("Cached Post")
+                .setBody("The body of the cached post.")
+                .vBuild();
+    }
+
+    private PublishPost publishPost() {
+        return PublishPost
+                .newBuilder()
+                .setPost(post)
+                .setBlog(blog)
+                .vBuild();
+    }
+
+    /**
+     * A repository of posts which may use the storage of another repository, as the nodes of
+     * a cluster use the same database.
+     */
+    private static final class SharedStorageRepository
+            extends CachingAggregateRepository<PostId, PostAggregate> {
+
+        private final @Nullable SharedStorageRepository owner;
+
+        /**
+         * Creates a new repository.
+         *
+         * @param owner
+         *         the repository whose storage to use, or {@code null} to create a new storage
+         */
+        private SharedStorageRepository(int cacheSize, @Nullable SharedStorageRepository owner) {
+            super(cacheSize);
+            this.owner = owner;
+        }
+
+        @Override
+        protected AggregateStorage<PostId> createStorage() {
+            return owner != null ? owner.aggregateStorage() : super.createStorage();
+        }
+
+        /**
+         * Closes the repository and the storage, unless the storage is owned by another
+         * repository.
+         */
+        @Override
+        public void close() {
+            if (owner == null) {
+                super.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.server.search;
+
+import io.spine.examples.blog.BlogId;
+import io.spine.examples.blog.PostId;
+import io.spine.examples.blog.events.PostPublished;
+import io.spine.examples.blog.search.SearchHit;
+import io.spine.examples.blog.search.SearchResults;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.util.stream.Collectors.toList;
+
+@DisplayName("SearchIndex should")
+class SearchIndexTest {
+
+    private final BlogId blog = BlogId.generate();
+    private SearchIndex index;
+
+    @BeforeEach
+    void createIndex() {
+        index = new SearchIndex();
+    }
+
+    @Test
+    @DisplayName("find the posts which contain all or some of the query terms")
+    void findMatching() {
+        PostId both = publish("Spine events", "Events are stored in the event store.");
+        PostId one = publish("Aggregates", "An aggregate emits events.");
+        publish("Projections", "A projection is a read model.");
+
+        SearchResults results = index.search("EVENTS store", 10);
+
+        assertThat(postsOf(results)).containsExactly(both, one)
+                                    .inOrder();
+    }
+
+    @Test
+    @DisplayName("rank a post with the term in the title higher")
+    void boostTitle() {
+        PostId inBody = publish("First", "This post mentions sharding once.");
+        PostId inTitle = publish("Sharding", "This post mentions nothing else.");
+
+        SearchResults results = index.search("sharding", 10);
+
+        assertThat(postsOf(results)).containsExactly(inTitle, inBody)
+                                    .inOrder();
+    }
+
+    @Test
+    @DisplayName("return at most the given number of posts")
+    void limitResults() {
+        for (int i = 0; i < 20; i++) {
+            publish("Post " + i, "Common text.");
+        }
+
+        SearchResults results = index.search("common", 5);
+
+        assertThat(results.getHitList()).hasSize(5);
+    }
+
+    @Test
+    @DisplayName("index a post once")
+    void ignoreRepublished() {
+        PostId post = publish("Title", "Body");
+        PostPublished again = PostPublished
+                .newBuilder()
+                .setPost(post)
+                .setBlog(blog)
+                .setTitle("Title")
+                .setBody("Body")
+                .build();
+        index.on(again);
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(postsOf(index.search("body", 10))).containsExactly(post);
+    }
+
+    @Test
+    @DisplayName("find nothing for unknown terms")
+    void findNothing() {
+        publish("Title", "Body");
+
+        assertThat(index.search("absent", 10).getHitList()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("store postings compactly and read them back")
+    void compressPostings() {
+        PostingList list = new PostingList();
+        List<Integer> expected = new ArrayList<>();
+        for (int post = 0; post < 1_000_000; post += 7) {
+            list.add(post, post % 3 + 1);
+            expected.add(post);
+        }
+        List<Integer> read = new ArrayList<>();
+        list.forEach((post, frequency) -> {
+            assertThat(frequency).isEqualTo(post % 3 + 1);
+            read.add(post);
+        });
+
+        assertThat(read).isEqualTo(expected);
+        assertThat(list.sizeInBytes()).isEqualTo(2 * list.count());
+    }
+
+    private PostId publish(String title, String body) {
+        PostId post = PostId.generate();
+        PostPublished event = PostPublished
+                .newBuilder()
+                .setPost(post)
+                .setBlog(blog)
+                .setTitle(title)
+                .setBody(body)
+                .build();
+        index.on(event);
+        return post;
+    }
+
+    private static List<PostId> postsOf(SearchResults results) {
+        return results.getHitList()
+                      .stream()
+                      .map(SearchHit::getPost)
+                      .collect(toList());
+    }
+}
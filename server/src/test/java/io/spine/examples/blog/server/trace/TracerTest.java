@@ -0,0 +1,187 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.server.trace;
+
+import com.google.protobuf.Message;
+import io.spine.base.Identifier;
+import io.spine.core.CommandId;
+import io.spine.core.EventContext;
+import io.spine.core.EventId;
+import io.spine.core.MessageId;
+import io.spine.core.Origin;
+import io.spine.examples.blog.PostId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.protobuf.AnyPacker.pack;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Tracer should")
+class TracerTest {
+
+    private final List<Span> spans = new ArrayList<>();
+    private final PostId post = PostId.generate();
+    private final CommandId command = CommandId
+            .newBuilder()
+            .setUuid(Identifier.newUuid())
+            .build();
+    private Tracer tracer;
+
+    @BeforeEach
+    void createTracer() {
+        spans.clear();
+        tracer = new Tracer(spans::add);
+    }
+
+    @Test
+    @DisplayName("record the stages of a command as the children of the root span")
+    void recordStages() {
+        long start = System.nanoTime();
+        SpanContext root = tracer.startTrace(command);
+        tracer.span(command, post, "stage", start);
+        tracer.endTrace(root, post, "root", start);
+
+        assertThat(spans).hasSize(2);
+        Span stage = spans.get(0);
+        Span rootSpan = spans.get(1);
+        String traceId = command.getUuid()
+                                .replace("-", "");
+        assertThat(stage.context()
+                        .traceId()).isEqualTo(traceId);
+        assertThat(stage.parent()
+                        .spanId()).isEqualTo(rootSpan.context()
+                                                     .spanId());
+        assertThat(rootSpan.parent()).isNull();
+        assertThat(rootSpan.timestampMicros()).isAtMost(stage.timestampMicros());
+        assertThat(stage.durationMicros()).isAtLeast(1);
+    }
+
+    @Test
+    @DisplayName("continue the trace of the root command of an event")
+    void traceEvent() {
+        SpanContext root = tracer.startTrace(command);
+        Origin fromCommand = originOf(command);
+        EventContext context = EventContext
+                .newBuilder()
+                .setPastMessage(originOf(newEventId()).toBuilder()
+                                                      .setGrandOrigin(fromCommand))
+                .build();
+
+        assertThat(Tracer.rootCommandOf(context)
+                         .get()).isEqualTo(command);
+        tracer.span(context, post, "stage", System.nanoTime());
+
+        assertThat(spans).hasSize(1);
+        assertThat(spans.get(0)
+                        .parent()
+                        .toString()).isEqualTo(root.toString());
+    }
+
+    @Test
+    @DisplayName("ignore the events which are not caused by a command")
+    void ignoreUntraced() {
+        EventContext imported = EventContext
+                .newBuilder()
+                .setPastMessage(originOf(newEventId()))
+                .build();
+
+        assertFalse(Tracer.rootCommandOf(imported)
+                          .isPresent());
+        tracer.span(imported, post, "stage", System.nanoTime());
+
+        assertThat(spans).isEmpty();
+    }
+
+    @Test
+    @DisplayName("do nothing when disabled")
+    void disabled() {
+        Tracer disabled = new Tracer(null);
+
+        assertThat(disabled.isEnabled()).isFalse();
+        assertThat(disabled.startTrace(command)).isNull();
+    }
+
+    @Test
+    @DisplayName("close the exporter")
+    void closeExporter() {
+        boolean[] closed = {false};
+        Tracer closing = new Tracer(new SpanExporter() {
+            @Override
+            public void export(Span span) {
+                spans.add(span);
+            }
+
+            @Override
+            public void close() {
+                closed[0] = true;
+            }
+        });
+
+        closing.close();
+
+        assertTrue(closed[0]);
+    }
+
+    @Test
+    @DisplayName("format the spans as Zipkin JSON")
+    void formatZipkin() {
+        long start = System.nanoTime();
+        SpanContext root = tracer.startTrace(command);
+        tracer.span(command, post, "BlogViewRepository.store", start);
+
+        String json = spans.get(0)
+                           .toZipkinJson();
+        assertThat(json).contains("\"traceId\":\"" + root.traceId() + '"');
+        assertThat(json).contains("\"parentId\":\"" + root.spanId() + '"');
+        assertThat(json).contains("\"name\":\"BlogViewRepository.store\"");
+        assertThat(json).contains("\"post\":\"" + post.getUuid() + '"');
+    }
+
+    private static EventId newEventId() {
+        return EventId
+                .newBuilder()
+                .setValue(Identifier.newUuid())
+                .build();
+    }
+
+    private static Origin originOf(Message id) {
+        MessageId message = MessageId
+                .newBuilder()
+                .setId(pack(id))
+                .build();
+        return Origin
+                .newBuilder()
+                .setMessage(message)
+                .build();
+    }
+}
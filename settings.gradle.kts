@@ -30,3 +30,4 @@ include("server")
 include("model")
 include("client")
 include("web")
+include("benchmarks")
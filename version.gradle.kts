@@ -32,3 +32,4 @@ val nettyVersion by extra("1.28.1")
 val javaxAnnotations by extra("1.3.2")
 val pmdVersion by extra("6.41.0")
 val junitVersion by extra("5.8.1")
+val hdrHistogramVersion by extra("2.1.12")
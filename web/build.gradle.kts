@@ -25,6 +25,7 @@
  */
 
 plugins {
+    war
     id("org.gretty") version "3.0.7"
 }
 
@@ -38,4 +39,27 @@ gretty {
     httpPort = 4242
     contextPath = "/"
     loggingLevel = "trace"
+    jvmArgs = System.getProperties()
+            .stringPropertyNames()
+            .filter { it.startsWith("io.spine.examples.blog.") }
+            .map { "-D$it=${System.getProperty(it)}" }
+}
+
+val loadTest by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output + sourceSets.main.get().runtimeClasspath
+    runtimeClasspath += output + compileClasspath
+}
+
+val runLoadTest by tasks.registering(JavaExec::class) {
+    group = "verification"
+    description = "Runs the load test against the application started with `appRun`."
+    classpath = loadTest.runtimeClasspath
+    main = "io.spine.examples.blog.web.loadtest.LoadTest"
+    args(
+        findProperty("loadTarget") ?: "http://localhost:4242",
+        findProperty("loadClients") ?: "16,64,256,1024",
+        findProperty("loadSlowClients") ?: "0",
+        findProperty("loadSeconds") ?: "20",
+        findProperty("loadBlogs") ?: "1000"
+    )
 }
@@ -0,0 +1,298 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.web.loadtest;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.protobuf.Message;
+import io.spine.base.Identifier;
+import io.spine.client.ActorRequestFactory;
+import io.spine.core.UserId;
+import io.spine.examples.blog.BlogId;
+import io.spine.examples.blog.BlogView;
+import io.spine.examples.blog.commands.CreateBlog;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.Socket;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static io.spine.json.Json.toCompactJson;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Measures how the Blog web application serves queries at a growing number of concurrent
+ * clients, in presence of slow clients.
+ *
+ * <p>At each concurrency level, the clients post {@code BlogView} queries to {@code /query} in
+ * a loop for the set duration. Each query selects a random one of the blogs created by the test.
+ * At the same time, the slow clients keep their requests open by sending a byte of the request
+ * body per second. The throughput, the latency percentiles, and the share of the queries served
+ * from the query cache of the application are reported per level.
+ *
+ * <p>Run the test against the application started with each of
+ * the {@code io.spine.examples.blog.dispatch.threads} modes to compare them. Start
+ * the application with {@code io.spine.examples.blog.queryCache.size} set to {@code 0}, so that
+ * each query reaches the context instead of the cache.
+ *
+ * <p>The arguments are:
+ * <ol>
+ *     <li>the base URL of the application;
+ *     <li>the comma-separated concurrency levels;
+ *     <li>the number of slow clients;
+ *     <li>the duration of each level in seconds;
+ *     <li>the number of the queried blogs.
+ * </ol>
+ */
+public final class LoadTest {
+
+    private static final String JSON = "application/json";
+
+    private final String baseUrl;
+    private final ActorRequestFactory requests = ActorRequestFactory
+            .newBuilder()
+            .setActor(UserId.newBuilder()
+                            .setValue("load-test")
+                            .build())
+            .build();
+
+    private LoadTest(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:4242";
+        String levels = args.length > 1 ? args[1] : "16,64,256,1024";
+        int slowClients = args.length > 2 ? Integer.parseInt(args[2]) : 0;
+        int seconds = args.length > 3 ? Integer.parseInt(args[3]) : 20;
+        int blogCount = args.length > 4 ? Integer.parseInt(args[4]) : 1000;
+        LoadTest test = new LoadTest(baseUrl);
+        List<Message> queries = test.createBlogs(blogCount);
+        System.out.println("clients  requests/s     p50 ms     p99 ms   errors  cache hits");
+        for (String level : levels.split(",")) {
+            int clients = Integer.parseInt(level.trim());
+            long hitsBefore = test.cacheHits();
+            Result result = test.run(queries, clients, slowClients, seconds);
+            long hits = test.cacheHits() - hitsBefore;
+            System.out.printf("%7d  %10.1f  %9.1f  %9.1f  %7d  %9.1f%%%n",
+                              clients,
+                              result.throughput(),
+                              result.percentile(0.5),
+                              result.percentile(0.99),
+                              result.errors,
+                              result.share(hits) * 100);
+        }
+    }
+
+    /**
+     * Creates the given number of blogs and returns the queries of their views.
+     */
+    private List<Message> createBlogs(int count) throws IOException {
+        ImmutableList.Builder<Message> queries = ImmutableList.builder();
+        for (int i = 0; i < count; i++) {
+            BlogId blog = createBlog();
+            queries.add(requests.query()
+                                .byIds(BlogView.class, ImmutableSet.of(blog)));
+        }
+        return queries.build();
+    }
+
+    private BlogId createBlog() throws IOException {
+        BlogId blog = BlogId
+                .newBuilder()
+                .setUuid(Identifier.newUuid())
+                .build();
+        CreateBlog createBlog = CreateBlog
+                .newBuilder()
+                .setId(blog)
+                .setTitle("Load test")
+                .build();
+        post("/command", requests.command()
+                                 .create(createBlog));
+        return blog;
+    }
+
+    private Result run(List<Message> queries, int clients, int slowClients, int seconds)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService threads = Executors.newFixedThreadPool(
+                clients + slowClients,
+                new ThreadFactoryBuilder()
+                        .setNameFormat("load-test-%d")
+                        .setDaemon(true)
+                        .build()
+        );
+        Result result = new Result(seconds);
+        for (int i = 0; i < slowClients; i++) {
+            threads.execute(() -> trickle(deadline));
+        }
+        for (int i = 0; i < clients; i++) {
+            threads.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    Message query = queries.get(ThreadLocalRandom.current()
+                                                                 .nextInt(queries.size()));
+                    long start = System.nanoTime();
+                    try {
+                        post("/query", query);
+                        result.record(System.nanoTime() - start);
+                    } catch (IOException e) {
+                        result.errors.incrementAndGet();
+                    }
+                }
+            });
+        }
+        threads.shutdown();
+        threads.awaitTermination(seconds + 60L, TimeUnit.SECONDS);
+        return result;
+    }
+
+    private void post(String path, Message message) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + path).openConnection();
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        connection.setRequestProperty("Content-Type", JSON);
+        try (OutputStream body = connection.getOutputStream()) {
+            body.write(toCompactJson(message).getBytes(UTF_8));
+        }
+        int status = connection.getResponseCode();
+        if (status >= 400) {
+            throw new IOException("HTTP " + status);
+        }
+        try (InputStream response = connection.getInputStream()) {
+            byte[] buffer = new byte[8192];
+            while (response.read(buffer) >= 0) {
+                // Read the response fully.
+            }
+        }
+    }
+
+    /**
+     * Obtains the number of the query cache hits of the application so far.
+     */
+    private long cacheHits() throws IOException {
+        HttpURLConnection connection =
+                (HttpURLConnection) new URL(baseUrl + "/stats/query-cache").openConnection();
+        try (BufferedReader stats = new BufferedReader(
+                new InputStreamReader(connection.getInputStream(), UTF_8))) {
+            String line;
+            while ((line = stats.readLine()) != null) {
+                if (line.startsWith("hits ")) {
+                    return Long.parseLong(line.substring("hits ".length()));
+                }
+            }
+        }
+        throw new IOException("The query cache statistics contain no hits.");
+    }
+
+    /**
+     * Sends a request to {@code /query}, one byte of the body per second, until the deadline.
+     */
+    private void trickle(long deadline) {
+        URL url;
+        try {
+            url = new URL(baseUrl + "/query");
+        } catch (IOException e) {
+            return;
+        }
+        int port = url.getPort() < 0 ? url.getDefaultPort() : url.getPort();
+        try (Socket socket = new Socket(url.getHost(), port)) {
+            OutputStream out = socket.getOutputStream();
+            String headers = "POST /query HTTP/1.1\r\n"
+                    + "Host: " + url.getHost() + "\r\n"
+                    + "Content-Type: " + JSON + "\r\n"
+                    + "Content-Length: 1000000\r\n\r\n";
+            out.write(headers.getBytes(UTF_8));
+            out.flush();
+            while (System.nanoTime() < deadline) {
+                out.write(' ');
+                out.flush();
+                Thread.sleep(1_000);
+            }
+        } catch (IOException ignored) {
+            // The server closed the connection.
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * The latencies of the requests at a concurrency level.
+     */
+    private static final class Result {
+
+        private final int seconds;
+        private final List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        private final AtomicLong errors = new AtomicLong();
+
+        private Result(int seconds) {
+            this.seconds = seconds;
+        }
+
+        private void record(long nanos) {
+            latencies.add(nanos);
+        }
+
+        private double throughput() {
+            return (double) latencies.size() / seconds;
+        }
+
+        /**
+         * Obtains the share of the given number in the number of the successful requests.
+         */
+        private double share(long requests) {
+            return latencies.isEmpty()
+                   ? 0
+                   : (double) requests / latencies.size();
+        }
+
+        private double percentile(double rank) {
+            List<Long> sorted;
+            synchronized (latencies) {
+                sorted = new ArrayList<>(latencies);
+            }
+            if (sorted.isEmpty()) {
+                return 0;
+            }
+            Collections.sort(sorted);
+            int index = (int) Math.min(sorted.size() - 1, Math.round(rank * (sorted.size() - 1)));
+            return sorted.get(index) / 1_000_000.0;
+        }
+    }
+}
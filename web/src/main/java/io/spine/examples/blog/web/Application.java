@@ -27,22 +27,39 @@
 package io.spine.examples.blog.web;
 
 import com.google.auth.oauth2.GoogleCredentials;
+import com.google.common.base.Suppliers;
 import com.google.firebase.FirebaseApp;
 import com.google.firebase.FirebaseOptions;
 import com.google.firebase.database.FirebaseDatabase;
+import com.google.protobuf.Message;
 import io.spine.examples.blog.BlogContext;
+import io.spine.examples.blog.server.journal.CommandJournal;
+import io.spine.examples.blog.server.metrics.JmxExporter;
+import io.spine.examples.blog.server.metrics.MetricId;
+import io.spine.examples.blog.server.metrics.MetricRegistry;
+import io.spine.examples.blog.server.search.SearchIndex;
+import io.spine.examples.blog.server.trace.Tracer;
 import io.spine.io.Resource;
 import io.spine.server.BoundedContext;
+import io.spine.server.BoundedContextBuilder;
 import io.spine.server.CommandService;
 import io.spine.server.QueryService;
 import io.spine.server.SubscriptionService;
 import io.spine.web.firebase.FirebaseClient;
 import io.spine.web.firebase.FirebaseCredentials;
+import io.spine.web.firebase.query.FirebaseQueryBridge;
 import io.spine.web.firebase.subscription.FirebaseSubscriptionBridge;
+import io.spine.web.query.QueryBridge;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
 
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static io.spine.examples.blog.web.DeliveryMode.FIREBASE;
 import static io.spine.util.Exceptions.illegalStateWithCauseOf;
 import static io.spine.web.firebase.FirebaseClientFactory.remoteClient;
 import static io.spine.web.firebase.FirebaseCredentials.fromGoogleCredentials;
@@ -54,26 +71,126 @@ final class Application {
 
     private static final String FIREBASE_RDB = "https://spine-dev.firebaseio.com/";
 
+    /**
+     * The name of the system property which defines the maximum number of cached query results.
+     */
+    static final String QUERY_CACHE_SIZE_PROPERTY = "io.spine.examples.blog.queryCache.size";
+
+    private static final long DEFAULT_QUERY_CACHE_SIZE = 10_000;
+
+    /**
+     * The name of the system property which selects the {@link DeliveryMode}.
+     *
+     * <p>The supported values are {@code firebase}, which is the default, and {@code local}.
+     */
+    static final String DELIVERY_PROPERTY = "io.spine.examples.blog.delivery";
+
+    /**
+     * The name of the system property which selects the {@link DispatchThreads}.
+     *
+     * <p>The supported values are {@code platform}, which is the default, {@code container},
+     * and {@code virtual}.
+     */
+    static final String DISPATCH_THREADS_PROPERTY = "io.spine.examples.blog.dispatch.threads";
+
+    /**
+     * The name of the system property which defines the number of the threads of
+     * the {@link DispatchThreads#PLATFORM PLATFORM} dispatch pool.
+     */
+    static final String DISPATCH_POOL_SIZE_PROPERTY = "io.spine.examples.blog.dispatch.poolSize";
+
+    /**
+     * The default number of the dispatch threads per available processor.
+     *
+     * <p>The dispatch threads mostly wait for the context and Firebase, so there are more of them
+     * than of the processors.
+     */
+    private static final int DISPATCH_THREADS_PER_PROCESSOR = 8;
+
     private static final Application instance = new Application();
 
+    private final DeliveryMode delivery;
+    private final QueryCache<Message> queryCache;
+    private final ViewVersions viewVersions;
+    private final BlogViewBroadcast viewBroadcast;
+    private final SearchIndex searchIndex;
     private final BoundedContext context;
-    private final GoogleCredentials credentials;
-    private final FirebaseSubscriptionBridge bridge;
+    private final @Nullable CommandJournal journal;
+    private final @Nullable GoogleCredentials credentials;
+    private final @Nullable FirebaseSubscriptionBridge bridge;
+    private final QueryBridge<Message> queryBridge;
+    private final ExecutorService dispatchExecutor;
+    private final ExecutorService batchExecutor;
 
     private Application() {
-        context = BlogContext.builder().build();
-        credentials = credentials();
-        FirebaseOptions firebaseOptions = FirebaseOptions
-                .builder()
-                .setDatabaseUrl(FIREBASE_RDB)
-                .setCredentials(credentials)
-                .build();
-        FirebaseApp.initializeApp(firebaseOptions);
-        this.bridge = FirebaseSubscriptionBridge
-                .newBuilder()
-                .setFirebaseClient(firebase())
-                .setSubscriptionService(subscriptionService())
-                .build();
+        queryCache = new QueryCache<>(
+                Long.getLong(QUERY_CACHE_SIZE_PROPERTY, DEFAULT_QUERY_CACHE_SIZE)
+        );
+        viewVersions = new ViewVersions();
+        viewBroadcast = new BlogViewBroadcast(Suppliers.memoize(this::queryService));
+        searchIndex = new SearchIndex();
+        BoundedContextBuilder builder =
+                BlogContext.builder(queryCache, viewVersions, viewBroadcast)
+                           .addEventDispatcher(searchIndex);
+        Optional<CommandJournal> openedJournal = BlogContext.openJournal();
+        context = openedJournal.map(j -> BlogContext.create(builder, j))
+                               .orElseGet(builder::build);
+        journal = openedJournal.orElse(null);
+        delivery = DeliveryMode.of(System.getProperty(DELIVERY_PROPERTY, FIREBASE.name()));
+        if (delivery == FIREBASE) {
+            credentials = credentials();
+            FirebaseOptions firebaseOptions = FirebaseOptions
+                    .builder()
+                    .setDatabaseUrl(FIREBASE_RDB)
+                    .setCredentials(credentials)
+                    .build();
+            FirebaseApp.initializeApp(firebaseOptions);
+            this.bridge = FirebaseSubscriptionBridge
+                    .newBuilder()
+                    .setFirebaseClient(firebase())
+                    .setSubscriptionService(subscriptionService())
+                    .build();
+            FirebaseQueryBridge firebaseQueries = FirebaseQueryBridge
+                    .newBuilder()
+                    .setFirebaseClient(firebase())
+                    .setQueryService(queryService())
+                    .build();
+            this.queryBridge = new CachingQueryBridge<>(firebaseQueries::send, queryCache);
+        } else {
+            credentials = null;
+            this.bridge = null;
+            LocalQueryBridge localQueries = new LocalQueryBridge(queryService());
+            this.queryBridge = new CachingQueryBridge<>(localQueries::send, queryCache);
+        }
+        int processors = Runtime.getRuntime()
+                                .availableProcessors();
+        DispatchThreads threads = DispatchThreads.of(
+                System.getProperty(DISPATCH_THREADS_PROPERTY, DispatchThreads.PLATFORM.name())
+        );
+        int poolSize = Integer.getInteger(DISPATCH_POOL_SIZE_PROPERTY,
+                                          processors * DISPATCH_THREADS_PER_PROCESSOR);
+        this.dispatchExecutor = threads.newExecutor(poolSize);
+        this.batchExecutor = DispatchThreads.PLATFORM.newExecutor(processors);
+        registerMetrics();
+    }
+
+    /**
+     * Registers the statistics of the query cache in the {@linkplain MetricRegistry#shared()
+     * shared registry} and exports the registry via JMX.
+     */
+    private void registerMetrics() {
+        MetricRegistry metrics = MetricRegistry.shared();
+        metrics.gauge(MetricId.of("blog_query_cache_size"), queryCache::size);
+        metrics.counter(MetricId.of("blog_query_cache_hits_total"),
+                        () -> queryCache.stats()
+                                        .hitCount());
+        metrics.counter(MetricId.of("blog_query_cache_misses_total"),
+                        () -> queryCache.stats()
+                                        .missCount());
+        metrics.counter(MetricId.of("blog_query_cache_evictions_total"),
+                        () -> queryCache.stats()
+                                        .evictionCount());
+        JmxExporter.register(metrics);
     }
 
     /**
@@ -97,6 +214,49 @@ final class Application {
                 .build();
     }
 
+    /**
+     * Obtains the mode in which the query results reach the clients.
+     */
+    DeliveryMode delivery() {
+        return delivery;
+    }
+
+    /**
+     * Obtains the cache of the query results of the Blog application.
+     */
+    QueryCache<Message> queryCache() {
+        return queryCache;
+    }
+
+    /**
+     * Obtains the bridge which executes the queries and delivers the results according to
+     * the {@link DeliveryMode}.
+     */
+    QueryBridge<Message> queryBridge() {
+        return queryBridge;
+    }
+
+    /**
+     * Obtains the versions of the views of the Blog application.
+     */
+    ViewVersions viewVersions() {
+        return viewVersions;
+    }
+
+    /**
+     * Obtains the broadcast of the view changes to the clients watching them.
+     */
+    BlogViewBroadcast viewBroadcast() {
+        return viewBroadcast;
+    }
+
+    /**
+     * Obtains the full-text index of the published posts.
+     */
+    SearchIndex searchIndex() {
+        return searchIndex;
+    }
+
     /**
      * Constructs the {@link CommandService} for the Blog application.
      *
@@ -125,18 +285,68 @@ final class Application {
      * Constructs a {@link FirebaseClient} for client-server communication for the Blog application.
      *
      * <p>The {@link FirebaseClient} points to the {@code spine-dev} Firebase project.
+     *
+     * @throws IllegalStateException
+     *         if the application does not use the {@link DeliveryMode#FIREBASE FIREBASE} delivery
      */
     FirebaseClient firebase() {
+        checkFirebaseDelivery();
         FirebaseDatabase database = FirebaseDatabase.getInstance();
-        FirebaseCredentials creds = fromGoogleCredentials(credentials);
+        FirebaseCredentials creds = fromGoogleCredentials(checkNotNull(credentials));
         return remoteClient(database, creds);
     }
 
     /**
      * Obtains a {@link FirebaseSubscriptionBridge} for the Blog application.
+     *
+     * @throws IllegalStateException
+     *         if the application does not use the {@link DeliveryMode#FIREBASE FIREBASE} delivery
      */
     FirebaseSubscriptionBridge subscriptionBridge() {
-        return bridge;
+        checkFirebaseDelivery();
+        return checkNotNull(bridge);
+    }
+
+    private void checkFirebaseDelivery() {
+        checkState(delivery == FIREBASE,
+                   "Firebase is not available with the `%s` delivery.", delivery);
+    }
+
+    /**
+     * Obtains the executor for dispatching the {@code /command}, {@code /query}, and
+     * {@code /subscription} requests into the {@link BlogContext} and Firebase.
+     *
+     * <p>The threads of the executor are selected by the {@value #DISPATCH_THREADS_PROPERTY}
+     * system property. By default, the requests are handled on a fixed pool of platform threads.
+     * The size of the pool is set by the {@value #DISPATCH_POOL_SIZE_PROPERTY} system property,
+     * and is eight threads per processor by default.
+     */
+    ExecutorService dispatchExecutor() {
+        return dispatchExecutor;
+    }
+
+    /**
+     * Obtains the executor for posting the commands of the {@linkplain BlogBatchCommandServlet
+     * batches} concurrently.
+     *
+     * <p>The executor is a fixed pool of a platform thread per processor.
+     */
+    ExecutorService batchExecutor() {
+        return batchExecutor;
+    }
+
+    /**
+     * Stops dispatching the requests and closes the Blog context, its journal, and the tracer.
+     */
+    void close() throws Exception {
+        dispatchExecutor.shutdown();
+        batchExecutor.shutdown();
+        context.close();
+        if (journal != null) {
+            journal.close();
+        }
+        Tracer.shared()
+              .close();
     }
 
     private static GoogleCredentials credentials() {
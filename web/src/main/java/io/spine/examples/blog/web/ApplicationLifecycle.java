@@ -0,0 +1,78 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.web;
+
+import javax.servlet.Servlet;
+import javax.servlet.ServletContext;
+import javax.servlet.ServletContextEvent;
+import javax.servlet.ServletContextListener;
+import javax.servlet.ServletRegistration;
+import javax.servlet.annotation.WebListener;
+
+import static io.spine.examples.blog.web.Application.app;
+import static io.spine.examples.blog.web.DeliveryMode.FIREBASE;
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
+
+/**
+ * Starts and closes the {@link Application} along with the web application.
+ *
+ * <p>The servlets of the Firebase subscriptions are registered only with
+ * the {@link DeliveryMode#FIREBASE FIREBASE} delivery. With the other modes, their paths are
+ * not mapped.
+ */
+@WebListener
+public final class ApplicationLifecycle implements ServletContextListener {
+
+    @Override
+    public void contextInitialized(ServletContextEvent event) {
+        if (app().delivery() != FIREBASE) {
+            return;
+        }
+        ServletContext servlets = event.getServletContext();
+        register(servlets, "subscribe", BlogSubscribeServlet.class, "/subscription/create");
+        register(servlets, "keepUp", BlogKeepUpServlet.class, "/subscription/keep-up");
+        register(servlets, "cancel", BlogCancelServlet.class, "/subscription/cancel");
+    }
+
+    private static void register(ServletContext servlets,
+                                 String name,
+                                 Class<? extends Servlet> type,
+                                 String path) {
+        ServletRegistration.Dynamic servlet = servlets.addServlet(name, type);
+        servlet.addMapping(path);
+        servlet.setAsyncSupported(true);
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent event) {
+        try {
+            app().close();
+        } catch (Exception e) {
+            throw illegalStateWithCauseOf(e);
+        }
+    }
+}
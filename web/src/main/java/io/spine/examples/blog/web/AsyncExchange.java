@@ -0,0 +1,288 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.web;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Message;
+import com.google.protobuf.Parser;
+import io.spine.json.Json;
+import io.spine.logging.Logging;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Base64;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static io.spine.json.Json.toCompactJson;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static javax.servlet.http.HttpServletResponse.SC_BAD_REQUEST;
+import static javax.servlet.http.HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+import static javax.servlet.http.HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE;
+import static javax.servlet.http.HttpServletResponse.SC_SERVICE_UNAVAILABLE;
+
+/**
+ * An exchange of a request message for a response message which does not block the container
+ * threads.
+ *
+ * <p>The request body is read with a {@link ReadListener} as the data arrives. The message is
+ * then parsed and handled on the {@linkplain Application#dispatchExecutor() dispatch threads}.
+ * The response is written with a {@link WriteListener} as the client accepts the data.
+ *
+ * <p>The request message is read in one of the formats:
+ * <ul>
+ *     <li>a Base64-encoded Protobuf message, if the content type is {@value #PROTOBUF_TYPE};
+ *     <li>JSON otherwise.
+ * </ul>
+ * The response message is written as JSON.
+ *
+ * <p>The servlets which use the exchange must support asynchronous operation.
+ *
+ * @param <M>
+ *         the type of the request message
+ */
+final class AsyncExchange<M extends Message> implements ReadListener, Logging {
+
+    /**
+     * The maximum size of a request body in bytes.
+     */
+    static final int MAX_BODY_SIZE = 1024 * 1024;
+
+    private static final String PROTOBUF_TYPE = "application/x-protobuf";
+
+    private final AsyncContext async;
+    private final HttpServletRequest req;
+    private final HttpServletResponse resp;
+    private final ServletInputStream input;
+    private final Class<M> type;
+    private final Parser<M> parser;
+    private final Executor executor;
+    private final Handler<M> handler;
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+    private final byte[] buffer = new byte[8192];
+    private boolean failed;
+
+    @SuppressWarnings("ConstructorWithTooManyParameters") // Called only by `start`.
+    private AsyncExchange(HttpServletRequest req,
+                          HttpServletResponse resp,
+                          AsyncContext async,
+                          ServletInputStream input,
+                          Class<M> type,
+                          Parser<M> parser,
+                          Executor executor,
+                          Handler<M> handler) {
+        this.async = async;
+        this.req = req;
+        this.resp = resp;
+        this.input = input;
+        this.type = type;
+        this.parser = parser;
+        this.executor = executor;
+        this.handler = handler;
+    }
+
+    /**
+     * Starts the exchange of a message of the given type.
+     */
+    static <M extends Message> void start(HttpServletRequest req,
+                                          HttpServletResponse resp,
+                                          Class<M> type,
+                                          Parser<M> parser,
+                                          Executor executor,
+                                          Handler<M> handler) throws IOException {
+        AsyncContext async = req.startAsync();
+        ServletInputStream input = req.getInputStream();
+        input.setReadListener(
+                new AsyncExchange<>(req, resp, async, input, type, parser, executor, handler)
+        );
+    }
+
+    @Override
+    public void onDataAvailable() throws IOException {
+        if (failed) {
+            return;
+        }
+        int read;
+        while (input.isReady() && (read = input.read(buffer)) >= 0) {
+            body.write(buffer, 0, read);
+            if (body.size() > MAX_BODY_SIZE) {
+                fail(SC_REQUEST_ENTITY_TOO_LARGE);
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void onAllDataRead() {
+        if (failed) {
+            return;
+        }
+        try {
+            executor.execute(this::parseAndHandle);
+        } catch (RejectedExecutionException e) {
+            fail(SC_SERVICE_UNAVAILABLE);
+        }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        _debug().withCause(t)
+                .log("Unable to read the request to `%s`.", req.getRequestURI());
+        complete();
+    }
+
+    private void parseAndHandle() {
+        M message = parse();
+        if (message == null) {
+            fail(SC_BAD_REQUEST);
+            return;
+        }
+        handle(message);
+    }
+
+    private @Nullable M parse() {
+        byte[] bytes = body.toByteArray();
+        String contentType = req.getContentType();
+        try {
+            if (contentType != null && contentType.startsWith(PROTOBUF_TYPE)) {
+                return parser.parseFrom(Base64.getDecoder()
+                                              .decode(bytes));
+            }
+            return Json.fromJson(new String(bytes, UTF_8), type);
+        } catch (InvalidProtocolBufferException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private void handle(M message) {
+        Message response;
+        try {
+            response = handler.handle(message, req, resp);
+        } catch (RuntimeException e) {
+            _error().withCause(e)
+                    .log("Unable to handle the request to `%s`.", req.getRequestURI());
+            fail(SC_INTERNAL_SERVER_ERROR);
+            return;
+        }
+        if (response == null) {
+            complete();
+            return;
+        }
+        byte[] bytes = toCompactJson(response).getBytes(UTF_8);
+        resp.setContentType("application/json");
+        resp.setCharacterEncoding("UTF-8");
+        resp.setContentLength(bytes.length);
+        try {
+            ServletOutputStream output = resp.getOutputStream();
+            output.setWriteListener(new ResponseWriter(output, bytes));
+        } catch (IOException e) {
+            _warn().withCause(e)
+                   .log("Unable to respond to the request to `%s`.", req.getRequestURI());
+            complete();
+        }
+    }
+
+    private void fail(int status) {
+        failed = true;
+        try {
+            resp.sendError(status);
+        } catch (IOException | IllegalStateException e) {
+            _warn().withCause(e)
+                   .log("Unable to respond to the request to `%s` with the status %d.",
+                        req.getRequestURI(), status);
+        }
+        complete();
+    }
+
+    private void complete() {
+        try {
+            async.complete();
+        } catch (IllegalStateException ignored) {
+            // The request has timed out and is completed by the container.
+        }
+    }
+
+    /**
+     * Writes the response body when the client is ready to accept it.
+     */
+    private final class ResponseWriter implements WriteListener {
+
+        private final ServletOutputStream output;
+        private final byte[] bytes;
+        private boolean written;
+
+        private ResponseWriter(ServletOutputStream output, byte[] bytes) {
+            this.output = output;
+            this.bytes = bytes;
+        }
+
+        @Override
+        public void onWritePossible() throws IOException {
+            if (!written && output.isReady()) {
+                written = true;
+                output.write(bytes);
+            }
+            if (written && output.isReady()) {
+                complete();
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            _debug().withCause(t)
+                    .log("Unable to write the response to `%s`.", req.getRequestURI());
+            complete();
+        }
+    }
+
+    /**
+     * The handling of a request message.
+     *
+     * @param <M>
+     *         the type of the request message
+     */
+    @FunctionalInterface
+    interface Handler<M extends Message> {
+
+        /**
+         * Handles the request message.
+         *
+         * <p>The handler may set the status and the headers of the response.
+         *
+         * @return the response message or {@code null} if the response has no body
+         */
+        @Nullable Message handle(M request, HttpServletRequest req, HttpServletResponse resp);
+    }
+}
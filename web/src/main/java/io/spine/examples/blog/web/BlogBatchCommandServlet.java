@@ -0,0 +1,305 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.web;
+
+import com.google.protobuf.Message;
+import io.grpc.stub.StreamObserver;
+import io.spine.base.Error;
+import io.spine.core.Ack;
+import io.spine.core.Command;
+import io.spine.json.Json;
+import io.spine.server.CommandService;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import javax.servlet.annotation.WebInitParam;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static io.spine.examples.blog.web.Application.app;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * The {@code /command/batch} servlet.
+ *
+ * <p>Receives a stream of commands in a single HTTP request and posts them with
+ * the {@link CommandService}. The {@link Ack}s are streamed back in the HTTP response as
+ * the commands are handled, not necessarily in the order of the commands.
+ *
+ * <p>The commands are read in one of the formats:
+ * <ul>
+ *     <li>length-delimited Protobuf messages, if the content type is
+ *         {@value #PROTOBUF_TYPE}. The acks are written in the same format;
+ *     <li>newline-delimited JSON otherwise. The acks are written as newline-delimited JSON.
+ * </ul>
+ *
+ * <p>At most {@value #DEFAULT_IN_FLIGHT_LIMIT} commands are handled at the same time. The limit
+ * is changed via the {@value #IN_FLIGHT_LIMIT_PARAM} init parameter. Reading of the request
+ * pauses while the limit is reached.
+ *
+ * <p>A command which cannot be parsed is answered with an {@link Error}. A malformed or
+ * truncated stream of length-delimited commands cannot be read further, so the error ends
+ * the stream. The response is completed only after all the read commands are handled.
+ */
+@SuppressWarnings("serial")
+@WebServlet(
+        urlPatterns = "/command/batch",
+        initParams = @WebInitParam(name = BlogBatchCommandServlet.IN_FLIGHT_LIMIT_PARAM,
+                                   value = BlogBatchCommandServlet.DEFAULT_IN_FLIGHT_LIMIT)
+)
+public final class BlogBatchCommandServlet extends HttpServlet {
+
+    static final String IN_FLIGHT_LIMIT_PARAM = "inFlightLimit";
+    static final String DEFAULT_IN_FLIGHT_LIMIT = "64";
+
+    private static final String PROTOBUF_TYPE = "application/x-protobuf";
+    private static final String NDJSON_TYPE = "application/x-ndjson";
+
+    private final CommandService commandService;
+    private final Executor executor;
+    private int inFlightLimit;
+
+    public BlogBatchCommandServlet() {
+        super();
+        this.commandService = app().commandService();
+        this.executor = app().batchExecutor();
+    }
+
+    @Override
+    public void init() {
+        inFlightLimit = Integer.parseInt(getInitParameter(IN_FLIGHT_LIMIT_PARAM));
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        boolean binary = PROTOBUF_TYPE.equals(req.getContentType());
+        resp.setContentType(binary ? PROTOBUF_TYPE : NDJSON_TYPE);
+        CommandReader reader = binary
+                               ? new DelimitedReader(req.getInputStream())
+                               : new JsonReader(req.getReader());
+        ResponseWriter writer = new ResponseWriter(resp.getOutputStream(), binary);
+        Semaphore inFlight = new Semaphore(inFlightLimit);
+        try {
+            Command command = reader.next(writer);
+            while (command != null) {
+                inFlight.acquire();
+                post(command, new AckObserver(writer, inFlight));
+                command = reader.next(writer);
+            }
+        } catch (IOException e) {
+            writer.write(errorOf(e));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.acquireUninterruptibly(inFlightLimit);
+            writer.flush();
+        }
+    }
+
+    /**
+     * Posts the command on the executor.
+     *
+     * <p>If the command cannot be posted, the error is passed to the observer, so that its place
+     * among the commands in flight is freed.
+     */
+    private void post(Command command, AckObserver observer) {
+        try {
+            executor.execute(() -> {
+                try {
+                    commandService.post(command, observer);
+                } catch (RuntimeException e) {
+                    observer.onError(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            observer.onError(e);
+        }
+    }
+
+    /**
+     * Reads commands from the HTTP request.
+     */
+    private interface CommandReader {
+
+        /**
+         * Reads the next command.
+         *
+         * <p>The commands which cannot be parsed are reported to the given writer and skipped.
+         *
+         * @return the next command or {@code null} if the stream is over
+         */
+        @Nullable Command next(ResponseWriter errors) throws IOException;
+    }
+
+    private static final class DelimitedReader implements CommandReader {
+
+        private final InputStream input;
+
+        private DelimitedReader(InputStream input) {
+            this.input = input;
+        }
+
+        @Override
+        public @Nullable Command next(ResponseWriter errors) throws IOException {
+            return Command.parseDelimitedFrom(input);
+        }
+    }
+
+    private static final class JsonReader implements CommandReader {
+
+        private final BufferedReader input;
+
+        private JsonReader(BufferedReader input) {
+            this.input = input;
+        }
+
+        @Override
+        public @Nullable Command next(ResponseWriter errors) throws IOException {
+            String line = input.readLine();
+            while (line != null) {
+                if (!line.trim().isEmpty()) {
+                    try {
+                        return Json.fromJson(line, Command.class);
+                    } catch (IllegalArgumentException e) {
+                        errors.write(errorOf(e));
+                    }
+                }
+                line = input.readLine();
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Writes acks and errors to the HTTP response.
+     *
+     * <p>The writes are synchronized, since commands are handled concurrently. Each message is
+     * flushed once written, so that the client receives the acks as the commands are handled.
+     *
+     * <p>If the client goes away, the rest of the acks are dropped. The commands are still
+     * handled.
+     */
+    private static final class ResponseWriter {
+
+        private final OutputStream output;
+        private final boolean binary;
+        private boolean broken;
+
+        private ResponseWriter(OutputStream output, boolean binary) {
+            this.output = output;
+            this.binary = binary;
+        }
+
+        private synchronized void write(Message message) {
+            if (broken) {
+                return;
+            }
+            try {
+                if (binary) {
+                    message.writeDelimitedTo(output);
+                } else {
+                    output.write(Json.toCompactJson(message)
+                                     .getBytes(UTF_8));
+                    output.write('\n');
+                }
+                output.flush();
+            } catch (IOException e) {
+                broken = true;
+            }
+        }
+
+        private synchronized void flush() {
+            if (broken) {
+                return;
+            }
+            try {
+                output.flush();
+            } catch (IOException e) {
+                broken = true;
+            }
+        }
+    }
+
+    /**
+     * Writes the ack of a command and frees its place among the commands in flight.
+     *
+     * <p>The place is freed once, even if the observer is both completed and failed.
+     */
+    private static final class AckObserver implements StreamObserver<Ack> {
+
+        private final ResponseWriter writer;
+        private final Semaphore inFlight;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private AckObserver(ResponseWriter writer, Semaphore inFlight) {
+            this.writer = writer;
+            this.inFlight = inFlight;
+        }
+
+        @Override
+        public void onNext(Ack ack) {
+            writer.write(ack);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            try {
+                writer.write(errorOf(t));
+            } finally {
+                release();
+            }
+        }
+
+        @Override
+        public void onCompleted() {
+            release();
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                inFlight.release();
+            }
+        }
+    }
+
+    private static Error errorOf(Throwable t) {
+        return Error
+                .newBuilder()
+                .setType(t.getClass().getName())
+                .setMessage(String.valueOf(t.getMessage()))
+                .build();
+    }
+}
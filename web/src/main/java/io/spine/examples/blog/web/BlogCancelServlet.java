@@ -26,21 +26,41 @@
 
 package io.spine.examples.blog.web;
 
-import io.spine.core.Response;
-import io.spine.web.subscription.servlet.SubscriptionCancelServlet;
+import io.spine.client.Subscription;
+import io.spine.web.firebase.subscription.FirebaseSubscriptionBridge;
 
-import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.Executor;
 
 import static io.spine.examples.blog.web.Application.app;
 
 /**
  * The endpoint for cancelling subscriptions.
+ *
+ * <p>Available only with the {@link DeliveryMode#FIREBASE FIREBASE} delivery. The servlet is
+ * {@linkplain ApplicationLifecycle registered} at {@code /subscription/cancel} in that mode only.
+ *
+ * <p>The requests are handled in an {@link AsyncExchange}, so that neither a slow client nor
+ * Firebase blocks the container threads.
  */
 @SuppressWarnings("serial")
-@WebServlet("/subscription/cancel")
-public final class BlogCancelServlet extends SubscriptionCancelServlet<Response> {
+public final class BlogCancelServlet extends HttpServlet {
+
+    private final FirebaseSubscriptionBridge bridge;
+    private final Executor executor;
 
     public BlogCancelServlet() {
-        super(app().subscriptionBridge());
+        super();
+        this.bridge = app().subscriptionBridge();
+        this.executor = app().dispatchExecutor();
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        AsyncExchange.start(req, resp, Subscription.class, Subscription.parser(), executor,
+                            (subscription, request, response) -> bridge.cancel(subscription));
     }
 }
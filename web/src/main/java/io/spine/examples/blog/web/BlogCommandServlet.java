@@ -26,21 +26,87 @@
 
 package io.spine.examples.blog.web;
 
-import io.spine.web.command.CommandServlet;
+import com.google.protobuf.Message;
+import io.spine.core.Ack;
+import io.spine.core.Command;
+import io.spine.examples.blog.commands.PublishPost;
+import io.spine.examples.blog.server.trace.SpanContext;
+import io.spine.examples.blog.server.trace.Tracer;
+import io.spine.grpc.MemoizingObserver;
+import io.spine.server.CommandService;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.Executor;
 
 import static io.spine.examples.blog.web.Application.app;
+import static io.spine.grpc.StreamObservers.memoizingObserver;
+import static io.spine.protobuf.AnyPacker.unpack;
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
 
 /**
  * The {@code /command} servlet.
  *
  * <p>Receives commands and posts them with the provided {@link io.spine.server.CommandService}.
+ * The {@link Ack} is sent in the HTTP response.
+ *
+ * <p>The requests are handled in an {@link AsyncExchange}, so that a slow client does not block
+ * the container threads. The commands are handled on
+ * the {@linkplain Application#dispatchExecutor() dispatch threads}.
+ *
+ * <p>A {@link PublishPost} command starts a {@linkplain Tracer trace} of the published post.
+ * The root span lasts from receiving the request until the command is posted.
  */
-@WebServlet("/command")
-public final class BlogCommandServlet extends CommandServlet {
+@SuppressWarnings("serial")
+@WebServlet(urlPatterns = "/command", asyncSupported = true)
+public final class BlogCommandServlet extends HttpServlet {
+
+    private final CommandService commandService;
+    private final Executor executor;
+    private final Tracer tracer = Tracer.shared();
 
     public BlogCommandServlet() {
-        super(app().commandService());
+        super();
+        this.commandService = app().commandService();
+        this.executor = app().dispatchExecutor();
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        long received = System.nanoTime();
+        AsyncExchange.start(req, resp, Command.class, Command.parser(), executor,
+                            (command, request, response) -> post(command, received));
+    }
+
+    private Ack post(Command command, long received) {
+        PublishPost publishing = tracer.isEnabled() ? publishingOf(command) : null;
+        if (publishing == null) {
+            return post(command);
+        }
+        SpanContext trace = tracer.startTrace(command.getId());
+        Ack ack = post(command);
+        if (trace != null) {
+            tracer.endTrace(trace, publishing.getPost(), "POST /command", received);
+        }
+        return ack;
+    }
+
+    private static @Nullable PublishPost publishingOf(Command command) {
+        Message message = unpack(command.getMessage());
+        return message instanceof PublishPost ? (PublishPost) message : null;
+    }
+
+    private Ack post(Command command) {
+        MemoizingObserver<Ack> observer = memoizingObserver();
+        commandService.post(command, observer);
+        Throwable error = observer.getError();
+        if (error != null) {
+            throw illegalStateWithCauseOf(error);
+        }
+        return observer.firstResponse();
     }
 }
@@ -26,28 +26,107 @@
 
 package io.spine.examples.blog.web;
 
-import io.spine.web.firebase.query.FirebaseQueryBridge;
-import io.spine.web.firebase.query.FirebaseQueryResponse;
-import io.spine.web.query.QueryServlet;
+import com.google.common.base.Splitter;
+import com.google.protobuf.Message;
+import io.spine.client.Query;
+import io.spine.web.query.QueryBridge;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.Executor;
 
 import static io.spine.examples.blog.web.Application.app;
+import static javax.servlet.http.HttpServletResponse.SC_NOT_MODIFIED;
 
 /**
  * The {@code /query} servlet.
  *
- * <p>Accepts {@link io.spine.client.Query}-s, writes query responses into a Firebase RDB and sends
- * a {@link FirebaseQueryResponse} in the HTTP response.
+ * <p>Accepts {@link io.spine.client.Query}-s and delivers the query responses according to
+ * the {@link DeliveryMode}. With the {@code FIREBASE} delivery, the responses are written into
+ * a Firebase RDB and the HTTP response contains
+ * a {@link io.spine.web.firebase.query.FirebaseQueryResponse FirebaseQueryResponse}. With
+ * the {@code LOCAL} delivery, the HTTP response contains
+ * the {@link io.spine.client.QueryResponse QueryResponse} itself.
+ *
+ * <p>The responses to the {@link io.spine.examples.blog.BlogView BlogView} queries are
+ * {@linkplain QueryCache cached} until the views change.
+ *
+ * <p>The responses to the {@code BlogView} queries carry an {@code ETag} derived from
+ * the {@linkplain ViewVersions versions} of the views. If the {@code If-None-Match} header of
+ * a request matches the current tag, the request is answered with
+ * {@code 304 Not Modified} and the query is not executed.
+ *
+ * <p>The requests are handled in an {@link AsyncExchange}, so that a slow client does not block
+ * the container threads. The queries are executed and the results are written into Firebase on
+ * the {@linkplain Application#dispatchExecutor() dispatch threads}.
  */
-@WebServlet("/query")
-public final class BlogQueryServlet extends QueryServlet<FirebaseQueryResponse> {
+@SuppressWarnings("serial")
+@WebServlet(urlPatterns = "/query", asyncSupported = true)
+public final class BlogQueryServlet extends HttpServlet {
+
+    private static final String ETAG = "ETag";
+    private static final String IF_NONE_MATCH = "If-None-Match";
+    private static final String EXPOSE_HEADERS = "Access-Control-Expose-Headers";
+    private static final String ANY_TAG = "*";
+    private static final String WEAK_PREFIX = "W/";
+    private static final Splitter TAG_SPLITTER = Splitter.on(',')
+                                                         .trimResults()
+                                                         .omitEmptyStrings();
+
+    private final QueryBridge<Message> bridge;
+    private final ViewVersions versions;
+    private final Executor executor;
 
     public BlogQueryServlet() {
-        super(FirebaseQueryBridge
-                .newBuilder()
-                .setFirebaseClient(app().firebase())
-                .setQueryService(app().queryService())
-                .build());
+        super();
+        this.bridge = app().queryBridge();
+        this.versions = app().viewVersions();
+        this.executor = app().dispatchExecutor();
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        AsyncExchange.start(req, resp, Query.class, Query.parser(), executor, this::handle);
+    }
+
+    private @Nullable Message handle(Query query,
+                                     HttpServletRequest req,
+                                     HttpServletResponse resp) {
+        Optional<String> etag = versions.etagOf(query);
+        if (etag.isPresent()) {
+            String tag = etag.get();
+            resp.setHeader(ETAG, tag);
+            resp.setHeader(EXPOSE_HEADERS, ETAG);
+            if (matches(req.getHeader(IF_NONE_MATCH), tag)) {
+                resp.setStatus(SC_NOT_MODIFIED);
+                return null;
+            }
+        }
+        return bridge.send(query);
+    }
+
+    /**
+     * Checks if the {@code If-None-Match} header value matches the entity tag.
+     *
+     * <p>As the header prescribes, the tags are compared weakly.
+     */
+    private static boolean matches(@Nullable String ifNoneMatch, String tag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : TAG_SPLITTER.split(ifNoneMatch)) {
+            String opaque = candidate.startsWith(WEAK_PREFIX)
+                            ? candidate.substring(WEAK_PREFIX.length())
+                            : candidate;
+            if (ANY_TAG.equals(opaque) || tag.equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
     }
 }
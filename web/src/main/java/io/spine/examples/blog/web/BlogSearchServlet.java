@@ -0,0 +1,90 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.web;
+
+import io.spine.examples.blog.search.SearchResults;
+import io.spine.examples.blog.server.search.SearchIndex;
+
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+import static io.spine.examples.blog.web.Application.app;
+import static io.spine.json.Json.toCompactJson;
+import static javax.servlet.http.HttpServletResponse.SC_BAD_REQUEST;
+
+/**
+ * The {@code /search} servlet.
+ *
+ * <p>Finds the published posts which match the text in the {@value #QUERY_PARAM} parameter and
+ * sends the {@link SearchResults} as JSON. At most {@value #DEFAULT_LIMIT} posts are sent, unless
+ * another number, up to {@value #MAX_LIMIT}, is set in the {@value #LIMIT_PARAM} parameter.
+ */
+@SuppressWarnings("serial")
+@WebServlet("/search")
+public final class BlogSearchServlet extends HttpServlet {
+
+    static final String QUERY_PARAM = "q";
+    static final String LIMIT_PARAM = "limit";
+    static final int DEFAULT_LIMIT = 10;
+    static final int MAX_LIMIT = 100;
+
+    private final SearchIndex index;
+
+    public BlogSearchServlet() {
+        super();
+        this.index = app().searchIndex();
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        String query = req.getParameter(QUERY_PARAM);
+        if (query == null || query.trim().isEmpty()) {
+            resp.sendError(SC_BAD_REQUEST);
+            return;
+        }
+        int limit;
+        try {
+            String limitValue = req.getParameter(LIMIT_PARAM);
+            limit = limitValue == null ? DEFAULT_LIMIT : Integer.parseInt(limitValue);
+        } catch (NumberFormatException e) {
+            resp.sendError(SC_BAD_REQUEST);
+            return;
+        }
+        if (limit <= 0 || limit > MAX_LIMIT) {
+            resp.sendError(SC_BAD_REQUEST);
+            return;
+        }
+        SearchResults results = index.search(query, limit);
+        resp.setContentType("application/json");
+        resp.setCharacterEncoding("UTF-8");
+        resp.getWriter()
+            .append(toCompactJson(results));
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.web;
+
+import io.grpc.stub.StreamObserver;
+import io.spine.client.Subscription;
+import io.spine.client.SubscriptionUpdate;
+import io.spine.client.Topic;
+import io.spine.json.Json;
+import io.spine.server.SubscriptionService;
+
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+import static io.spine.examples.blog.web.Application.app;
+import static io.spine.grpc.StreamObservers.noOpObserver;
+import static io.spine.json.Json.toCompactJson;
+import static javax.servlet.http.HttpServletResponse.SC_BAD_REQUEST;
+
+/**
+ * The {@code /subscription/stream} servlet.
+ *
+ * <p>Subscribes to the {@link Topic} passed as JSON in the {@value #TOPIC_PARAM} parameter and
+ * pushes the {@link SubscriptionUpdate}s as Server-Sent Events with JSON data. The subscription
+ * is cancelled when the client disconnects.
+ *
+ * <p>Unlike the {@code /subscription/*} endpoints of the Firebase delivery, the endpoint does not
+ * require the clients to keep up their subscriptions.
+ */
+@SuppressWarnings("serial")
+@WebServlet(urlPatterns = "/subscription/stream", asyncSupported = true)
+public final class BlogStreamServlet extends HttpServlet {
+
+    static final String TOPIC_PARAM = "topic";
+
+    private final SubscriptionService subscriptionService;
+
+    public BlogStreamServlet() {
+        super();
+        this.subscriptionService = app().subscriptionService();
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        String json = req.getParameter(TOPIC_PARAM);
+        if (json == null) {
+            resp.sendError(SC_BAD_REQUEST);
+            return;
+        }
+        Topic topic;
+        try {
+            topic = Json.fromJson(json, Topic.class);
+        } catch (IllegalArgumentException e) {
+            resp.sendError(SC_BAD_REQUEST);
+            return;
+        }
+        EventStream stream = EventStream.open(req, resp);
+        subscriptionService.subscribe(topic, new SubscriptionObserver(stream));
+    }
+
+    /**
+     * Activates the created subscription and cancels it when the stream is closed.
+     */
+    private final class SubscriptionObserver implements StreamObserver<Subscription> {
+
+        private final EventStream stream;
+
+        private SubscriptionObserver(EventStream stream) {
+            this.stream = stream;
+        }
+
+        @Override
+        public void onNext(Subscription subscription) {
+            stream.onClose(() -> subscriptionService.cancel(subscription, noOpObserver()));
+            subscriptionService.activate(subscription, new UpdateObserver(stream));
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            stream.close();
+        }
+
+        @Override
+        public void onCompleted() {
+            // The subscription is activated in `onNext`.
+        }
+    }
+
+    /**
+     * Pushes the subscription updates into the stream.
+     */
+    private static final class UpdateObserver implements StreamObserver<SubscriptionUpdate> {
+
+        private final EventStream stream;
+
+        private UpdateObserver(EventStream stream) {
+            this.stream = stream;
+        }
+
+        @Override
+        public void onNext(SubscriptionUpdate update) {
+            stream.send(toCompactJson(update));
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            stream.close();
+        }
+
+        @Override
+        public void onCompleted() {
+            stream.close();
+        }
+    }
+}
@@ -26,21 +26,41 @@
 
 package io.spine.examples.blog.web;
 
-import io.spine.web.firebase.subscription.FirebaseSubscription;
-import io.spine.web.subscription.servlet.SubscribeServlet;
+import io.spine.client.Topic;
+import io.spine.web.firebase.subscription.FirebaseSubscriptionBridge;
 
-import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.Executor;
 
 import static io.spine.examples.blog.web.Application.app;
 
 /**
  * The endpoint for creating new subscriptions for state updates and events.
+ *
+ * <p>Available only with the {@link DeliveryMode#FIREBASE FIREBASE} delivery. The servlet is
+ * {@linkplain ApplicationLifecycle registered} at {@code /subscription/create} in that mode only.
+ *
+ * <p>The requests are handled in an {@link AsyncExchange}, so that neither a slow client nor
+ * Firebase blocks the container threads.
  */
 @SuppressWarnings("serial")
-@WebServlet("/subscription/create")
-public final class BlogSubscribeServlet extends SubscribeServlet<FirebaseSubscription> {
+public final class BlogSubscribeServlet extends HttpServlet {
+
+    private final FirebaseSubscriptionBridge bridge;
+    private final Executor executor;
 
     public BlogSubscribeServlet() {
-        super(app().subscriptionBridge());
+        super();
+        this.bridge = app().subscriptionBridge();
+        this.executor = app().dispatchExecutor();
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        AsyncExchange.start(req, resp, Topic.class, Topic.parser(), executor,
+                            (topic, request, response) -> bridge.subscribe(topic));
     }
 }
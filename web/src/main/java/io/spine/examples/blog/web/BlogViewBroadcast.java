@@ -0,0 +1,222 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.web;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.spine.client.ActorRequestFactory;
+import io.spine.client.EntityStateWithVersion;
+import io.spine.client.Query;
+import io.spine.client.QueryResponse;
+import io.spine.core.CommandId;
+import io.spine.core.UserId;
+import io.spine.core.Version;
+import io.spine.examples.blog.BlogId;
+import io.spine.examples.blog.BlogView;
+import io.spine.examples.blog.server.blog.BlogViewListener;
+import io.spine.examples.blog.server.trace.Tracer;
+import io.spine.server.QueryService;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import static io.spine.protobuf.AnyPacker.unpack;
+
+/**
+ * Broadcasts the changes of {@link BlogView}s to the {@linkplain BlogViewStream streams} of
+ * the clients watching them.
+ *
+ * <p>All the clients watching a blog share a single channel, regardless of their number.
+ * Each change of a view is encoded at most once per form, and the encoded event is offered to
+ * all the streams of the view. The events are offered off the thread which stores the view, so
+ * that slow or numerous clients do not delay the handling of commands.
+ *
+ * <p>A channel remembers the last {@value BlogViewStream#MAX_PENDING} changes of its view, so
+ * that a reconnecting client receives the patches since the version it has instead of
+ * the whole state.
+ *
+ * <p>Offering a newly published post to the streams is {@linkplain Tracer traced}.
+ */
+final class BlogViewBroadcast implements BlogViewListener {
+
+    private final Map<BlogId, Channel> channels = new ConcurrentHashMap<>();
+    private final ExecutorService fanOut = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder()
+                    .setNameFormat("blog-view-fan-out")
+                    .setDaemon(true)
+                    .build()
+    );
+    private final ActorRequestFactory requests = ActorRequestFactory
+            .newBuilder()
+            .setActor(UserId.newBuilder()
+                            .setValue("blog-view-broadcast")
+                            .build())
+            .build();
+    private final Supplier<QueryService> queryService;
+    private final Tracer tracer = Tracer.shared();
+
+    /**
+     * Creates a new broadcast.
+     *
+     * @param queryService
+     *         the supplier of the service to read the current states of the views
+     */
+    BlogViewBroadcast(Supplier<QueryService> queryService) {
+        this.queryService = queryService;
+    }
+
+    @Override
+    public void onStored(BlogView view, Version version) {
+        onStored(view, version, null);
+    }
+
+    @Override
+    public void onStored(BlogView view, Version version, @Nullable CommandId tracedCommand) {
+        long start = System.nanoTime();
+        Channel channel = channels.get(view.getId());
+        if (channel != null) {
+            CommandId traced = view.getPostCount() > 0 ? tracedCommand : null;
+            record(channel, view, version, traced, start);
+        }
+    }
+
+    /**
+     * Starts streaming the changes of the view in the response to the given request.
+     *
+     * <p>The client is first brought up to date with the current state of the view.
+     *
+     * @param deltas
+     *         if {@code true}, the changes are sent as deltas, otherwise as the whole states
+     * @param clientVersion
+     *         the version of the view the client already has, or {@code -1} if none
+     */
+    void watch(BlogId blog,
+               boolean deltas,
+               int clientVersion,
+               HttpServletRequest req,
+               HttpServletResponse resp) throws IOException {
+        BlogViewStream stream = BlogViewStream.open(req, resp, deltas, clientVersion);
+        Channel channel = channels.compute(blog, (id, existing) -> {
+            Channel result = existing == null ? new Channel() : existing;
+            result.streams.add(stream);
+            return result;
+        });
+        stream.onClose(() -> unwatch(blog, stream));
+        if (channel.isEmpty()) {
+            readCurrent(blog, channel);
+        }
+        stream.catchUp(channel.recent());
+    }
+
+    private void unwatch(BlogId blog, BlogViewStream stream) {
+        channels.computeIfPresent(blog, (id, channel) -> {
+            channel.streams.remove(stream);
+            return channel.streams.isEmpty() ? null : channel;
+        });
+    }
+
+    private void readCurrent(BlogId blog, Channel channel) {
+        Query query = requests.query()
+                              .byIds(BlogView.class, ImmutableSet.of(blog));
+        QueryResponse response = new LocalQueryBridge(queryService.get()).send(query);
+        for (EntityStateWithVersion state : response.getMessageList()) {
+            BlogView view = unpack(state.getState(), BlogView.class);
+            record(channel, view, state.getVersion(), null, System.nanoTime());
+        }
+    }
+
+    /**
+     * Records the new state of the view and offers the change to the streams of the channel.
+     *
+     * @param traced
+     *         the command whose trace gets the span of offering the change, or {@code null}
+     * @param start
+     *         the time the change was received at, in nanoseconds
+     */
+    private void record(Channel channel,
+                        BlogView view,
+                        Version version,
+                        @Nullable CommandId traced,
+                        long start) {
+        ViewChange change = channel.record(view, version.getNumber());
+        if (change != null) {
+            fanOut.execute(() -> {
+                channel.streams.forEach(stream -> stream.offer(change));
+                if (traced != null) {
+                    tracer.span(traced, view.getPost(0)
+                                            .getId(), "BlogViewBroadcast.fanOut", start);
+                }
+            });
+        }
+    }
+
+    /**
+     * The streams of a single view and its recent changes.
+     */
+    private static final class Channel {
+
+        private final Set<BlogViewStream> streams = ConcurrentHashMap.newKeySet();
+        private final Deque<ViewChange> recent = new ArrayDeque<>();
+
+        /**
+         * Records the new state of the view.
+         *
+         * @return the change or {@code null} if the state is not newer than the last recorded
+         */
+        private synchronized @Nullable ViewChange record(BlogView view, int version) {
+            ViewChange last = recent.peekLast();
+            if (last != null && last.version() >= version) {
+                return null;
+            }
+            ViewChange change = new ViewChange(view, version, last);
+            recent.addLast(change);
+            if (recent.size() > BlogViewStream.MAX_PENDING) {
+                recent.removeFirst();
+            }
+            return change;
+        }
+
+        private synchronized boolean isEmpty() {
+            return recent.isEmpty();
+        }
+
+        private synchronized ImmutableList<ViewChange> recent() {
+            return ImmutableList.copyOf(recent);
+        }
+    }
+}
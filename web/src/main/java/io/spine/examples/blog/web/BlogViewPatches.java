@@ -0,0 +1,98 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.web;
+
+import io.spine.examples.blog.BlogView;
+import io.spine.examples.blog.PostSummary;
+import io.spine.examples.blog.stream.BlogViewPatch;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Utilities for computing and applying the {@link BlogViewPatch}es.
+ */
+final class BlogViewPatches {
+
+    /** Prevents the utility class instantiation. */
+    private BlogViewPatches() {
+    }
+
+    /**
+     * Computes the patch which turns one state of a view into another.
+     *
+     * @return the patch or {@code Optional.empty()} if the change cannot be expressed
+     *         as a patch
+     */
+    static Optional<BlogViewPatch> diff(BlogView before, BlogView after) {
+        List<PostSummary> oldPosts = before.getPostList();
+        List<PostSummary> newPosts = after.getPostList();
+        int inserted = oldPosts.isEmpty()
+                       ? newPosts.size()
+                       : newPosts.indexOf(oldPosts.get(0));
+        if (inserted < 0) {
+            inserted = newPosts.size();
+        }
+        int kept = newPosts.size() - inserted;
+        if (kept > oldPosts.size()
+                || !newPosts.subList(inserted, newPosts.size())
+                            .equals(oldPosts.subList(0, kept))) {
+            return Optional.empty();
+        }
+        BlogViewPatch.Builder patch = BlogViewPatch
+                .newBuilder()
+                .addAllInsertedPost(newPosts.subList(0, inserted))
+                .setRemovedPostCount(oldPosts.size() - kept)
+                .setPublishedCount(after.getPublishedCount());
+        if (!before.getTitle().equals(after.getTitle())) {
+            patch.setTitle(after.getTitle());
+        }
+        BlogViewPatch result = patch.build();
+        if (!apply(before, result).equals(after)) {
+            return Optional.empty();
+        }
+        return Optional.of(result);
+    }
+
+    /**
+     * Applies the patch to the state of a view.
+     */
+    static BlogView apply(BlogView state, BlogViewPatch patch) {
+        List<PostSummary> posts = state.getPostList();
+        int kept = Math.max(posts.size() - patch.getRemovedPostCount(), 0);
+        BlogView.Builder result = state
+                .toBuilder()
+                .clearPost()
+                .addAllPost(patch.getInsertedPostList())
+                .addAllPost(posts.subList(0, kept))
+                .setPublishedCount(patch.getPublishedCount());
+        if (!patch.getTitle().isEmpty()) {
+            result.setTitle(patch.getTitle());
+        }
+        return result.build();
+    }
+}
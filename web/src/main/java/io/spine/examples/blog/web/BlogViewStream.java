@@ -0,0 +1,244 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.web;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * A stream of the changes of a {@link io.spine.examples.blog.BlogView BlogView} sent to a single
+ * client as Server-Sent Events.
+ *
+ * <p>The stream writes without blocking. The changes are sent in one of the forms:
+ * <ul>
+ *     <li>the whole states of the view. While the client cannot accept more data, only
+ *         the latest state is kept, and the intermediate states are skipped;
+ *     <li>{@linkplain io.spine.examples.blog.stream.BlogViewDelta deltas}. A change is sent as
+ *         a patch to the state the client will have after the pending changes. If there is no
+ *         such patch, or the client falls behind by more than {@value #MAX_PENDING} changes,
+ *         the pending changes are replaced with a snapshot of the latest state.
+ * </ul>
+ *
+ * <p>The changes older than the last offered one are never sent.
+ */
+final class BlogViewStream implements WriteListener {
+
+    /**
+     * The maximum number of the changes pending to be sent in the delta form.
+     */
+    static final int MAX_PENDING = 32;
+
+    private final AsyncContext async;
+    private final ServletOutputStream output;
+    private final boolean deltas;
+    private final Deque<ViewChange.Frame> pending = new ArrayDeque<>();
+    private @Nullable Runnable onClose;
+
+    /**
+     * The version of the view the client has after receiving the pending changes.
+     */
+    private int version;
+    private boolean closed;
+
+    /**
+     * Creates a stream over the given asynchronous response.
+     *
+     * <p>Use {@link #open(HttpServletRequest, HttpServletResponse, boolean, int) open()} to
+     * start a stream in a servlet.
+     */
+    BlogViewStream(AsyncContext async,
+                   ServletOutputStream output,
+                   boolean deltas,
+                   int version) {
+        this.async = async;
+        this.output = output;
+        this.deltas = deltas;
+        this.version = version;
+    }
+
+    /**
+     * Starts a stream in the response to the given request.
+     *
+     * @param deltas
+     *         if {@code true}, the changes are sent as deltas, otherwise as the whole states
+     * @param clientVersion
+     *         the version of the view the client already has, or {@code -1} if none
+     */
+    static BlogViewStream open(HttpServletRequest req,
+                               HttpServletResponse resp,
+                               boolean deltas,
+                               int clientVersion) throws IOException {
+        resp.setContentType("text/event-stream");
+        resp.setCharacterEncoding("UTF-8");
+        resp.setHeader("Cache-Control", "no-cache");
+        AsyncContext async = req.startAsync();
+        async.setTimeout(0);
+        BlogViewStream stream =
+                new BlogViewStream(async, resp.getOutputStream(), deltas, clientVersion);
+        async.addListener(stream.new Closer());
+        stream.output.setWriteListener(stream);
+        return stream;
+    }
+
+    /**
+     * Sets the action to run once the stream is closed.
+     *
+     * <p>If the stream is already closed, runs the action immediately.
+     */
+    void onClose(Runnable action) {
+        synchronized (this) {
+            if (!closed) {
+                onClose = action;
+                return;
+            }
+        }
+        action.run();
+    }
+
+    /**
+     * Offers the recent changes of the view, in the chronological order, to bring the client
+     * up to date.
+     *
+     * <p>If the client claims a version newer than the latest change, its state is considered
+     * unknown, and the latest state is sent as a whole.
+     */
+    synchronized void catchUp(List<ViewChange> recent) {
+        if (recent.isEmpty()) {
+            return;
+        }
+        ViewChange latest = recent.get(recent.size() - 1);
+        if (version > latest.version()) {
+            version = -1;
+        }
+        recent.forEach(this::offer);
+    }
+
+    /**
+     * Offers a change to be sent to the client.
+     */
+    synchronized void offer(ViewChange change) {
+        if (closed || change.version() <= version) {
+            return;
+        }
+        if (!deltas) {
+            pending.clear();
+            pending.add(change.state());
+        } else if (change.patches(version) && pending.size() < MAX_PENDING) {
+            pending.add(change.delta());
+        } else {
+            pending.clear();
+            pending.add(change.snapshot());
+        }
+        version = change.version();
+        drain();
+    }
+
+    @Override
+    public synchronized void onWritePossible() {
+        drain();
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        close();
+    }
+
+    private void drain() {
+        if (closed) {
+            return;
+        }
+        try {
+            while (output.isReady()) {
+                ViewChange.Frame frame = pending.poll();
+                if (frame == null) {
+                    output.flush();
+                    return;
+                }
+                output.write(frame.bytes());
+            }
+        } catch (IOException e) {
+            close();
+        }
+    }
+
+    private void close() {
+        Runnable action;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            pending.clear();
+            action = onClose;
+        }
+        if (action != null) {
+            action.run();
+        }
+        try {
+            async.complete();
+        } catch (IllegalStateException ignored) {
+            // The response is already completed by the container.
+        }
+    }
+
+    /**
+     * Closes the stream when the asynchronous operation ends.
+     */
+    private final class Closer implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            close();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            close();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            close();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Nothing to do.
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.web;
+
+import io.spine.examples.blog.BlogId;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+import static io.spine.examples.blog.web.Application.app;
+import static javax.servlet.http.HttpServletResponse.SC_BAD_REQUEST;
+
+/**
+ * The {@code /blog/stream} servlet.
+ *
+ * <p>Pushes the states of the {@link io.spine.examples.blog.BlogView BlogView} of the blog with
+ * the UUID passed in the {@value #BLOG_PARAM} parameter as Server-Sent Events with JSON data.
+ * The ID of an event is the version of the view.
+ *
+ * <p>If the {@value #DELTA_PARAM} parameter is {@code true}, the changes are sent as
+ * {@link io.spine.examples.blog.stream.BlogViewDelta BlogViewDelta}s. A client which reconnects
+ * with the {@value #LAST_EVENT_ID} header, or passes the version it has in
+ * the {@value #SINCE_PARAM} parameter, receives only the patches since that version, if they are
+ * still known. Otherwise, it receives a snapshot of the whole state.
+ *
+ * <p>The clients watching the same blog share a single {@linkplain BlogViewBroadcast broadcast}
+ * and do not create subscriptions in the {@link io.spine.server.SubscriptionService
+ * SubscriptionService}.
+ */
+@SuppressWarnings("serial")
+@WebServlet(urlPatterns = "/blog/stream", asyncSupported = true)
+public final class BlogViewStreamServlet extends HttpServlet {
+
+    static final String BLOG_PARAM = "blog";
+    static final String DELTA_PARAM = "delta";
+    static final String SINCE_PARAM = "since";
+    static final String LAST_EVENT_ID = "Last-Event-ID";
+
+    private final BlogViewBroadcast broadcast;
+
+    public BlogViewStreamServlet() {
+        super();
+        this.broadcast = app().viewBroadcast();
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        String uuid = req.getParameter(BLOG_PARAM);
+        if (uuid == null || uuid.isEmpty()) {
+            resp.sendError(SC_BAD_REQUEST);
+            return;
+        }
+        BlogId blog = BlogId
+                .newBuilder()
+                .setUuid(uuid)
+                .build();
+        boolean deltas = Boolean.parseBoolean(req.getParameter(DELTA_PARAM));
+        String since = req.getHeader(LAST_EVENT_ID);
+        if (since == null) {
+            since = req.getParameter(SINCE_PARAM);
+        }
+        int clientVersion = deltas ? versionOf(since) : -1;
+        broadcast.watch(blog, deltas, clientVersion, req, resp);
+    }
+
+    private static int versionOf(@Nullable String value) {
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
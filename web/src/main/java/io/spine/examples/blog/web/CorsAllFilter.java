@@ -35,6 +35,6 @@ import static io.spine.web.AllowAnyOriginFilter.ANY_URL;
 /**
  * A web servlet which allows all CORS origins.
  */
-@WebFilter(urlPatterns = ANY_URL)
+@WebFilter(urlPatterns = ANY_URL, asyncSupported = true)
 public final class CorsAllFilter extends AllowAnyOriginFilter {
 }
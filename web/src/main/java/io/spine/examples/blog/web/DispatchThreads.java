@@ -0,0 +1,122 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.web;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
+import static io.spine.util.Exceptions.newIllegalArgumentException;
+import static io.spine.util.Exceptions.newIllegalStateException;
+
+/**
+ * The kind of threads which dispatch the requests into the Blog context.
+ */
+enum DispatchThreads {
+
+    /**
+     * The servlet container threads.
+     *
+     * <p>A request is handled on the container thread which has read it, as if it were handled
+     * synchronously. A request blocked on the context or Firebase occupies a container thread.
+     */
+    CONTAINER {
+        @Override
+        ExecutorService newExecutor(int poolSize) {
+            return MoreExecutors.newDirectExecutorService();
+        }
+    },
+
+    /**
+     * A fixed pool of platform threads.
+     *
+     * <p>Bounds the number of requests handled at once by the size of the pool. The container
+     * threads are released as soon as the requests are read.
+     */
+    PLATFORM {
+        @Override
+        ExecutorService newExecutor(int poolSize) {
+            return Executors.newFixedThreadPool(
+                    poolSize,
+                    new ThreadFactoryBuilder()
+                            .setNameFormat("blog-dispatch-%d")
+                            .setDaemon(true)
+                            .build()
+            );
+        }
+    },
+
+    /**
+     * A new virtual thread per request.
+     *
+     * <p>A request blocked on a slow client, the context, or Firebase does not occupy
+     * a platform thread. Requires Java 21 or newer at runtime.
+     */
+    VIRTUAL {
+        @Override
+        ExecutorService newExecutor(int poolSize) {
+            Method factory;
+            try {
+                factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            } catch (NoSuchMethodException e) {
+                throw newIllegalStateException(
+                        "Virtual threads are not supported by Java %s.",
+                        System.getProperty("java.version"));
+            }
+            try {
+                return (ExecutorService) factory.invoke(null);
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw illegalStateWithCauseOf(e);
+            }
+        }
+    };
+
+    /**
+     * Creates a new executor which runs the tasks on the threads of this kind.
+     *
+     * @param poolSize
+     *         the number of the threads, if the kind uses a pool of them
+     */
+    abstract ExecutorService newExecutor(int poolSize);
+
+    /**
+     * Obtains the kind by its case-insensitive name.
+     */
+    static DispatchThreads of(String name) {
+        for (DispatchThreads threads : values()) {
+            if (threads.name().equalsIgnoreCase(name)) {
+                return threads;
+            }
+        }
+        throw newIllegalArgumentException("Unknown dispatch threads `%s`.", name);
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.web;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A stream of <a href="https://html.spec.whatwg.org/multipage/server-sent-events.html">Server-Sent
+ * Events</a> written into an asynchronous HTTP response.
+ *
+ * <p>The stream writes without blocking, so a slow client does not hold up the thread which sends
+ * the events. The events which the client cannot accept yet are kept in the stream. The events
+ * cannot be skipped, so a client which falls behind by more than {@value #MAX_PENDING} events
+ * is disconnected.
+ *
+ * <p>The stream is closed when the client disconnects, falls behind, or a write fails.
+ * The actions {@linkplain #onClose(Runnable) registered} for the closing are then run once.
+ */
+final class EventStream implements WriteListener {
+
+    /**
+     * The maximum number of the events pending to be sent.
+     */
+    static final int MAX_PENDING = 1024;
+
+    private static final String CONTENT_TYPE = "text/event-stream";
+
+    private final AsyncContext async;
+    private final ServletOutputStream output;
+    private final Deque<byte[]> pending = new ArrayDeque<>();
+    private final List<Runnable> closeActions = new ArrayList<>();
+    private boolean closed;
+
+    private EventStream(AsyncContext async, ServletOutputStream output) {
+        this.async = async;
+        this.output = output;
+    }
+
+    /**
+     * Starts an event stream in the response to the given request.
+     *
+     * <p>The request must be handled by a servlet which supports asynchronous operation.
+     */
+    static EventStream open(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        resp.setContentType(CONTENT_TYPE);
+        resp.setCharacterEncoding("UTF-8");
+        resp.setHeader("Cache-Control", "no-cache");
+        AsyncContext async = req.startAsync();
+        async.setTimeout(0);
+        EventStream stream = new EventStream(async, resp.getOutputStream());
+        async.addListener(stream.new Closer());
+        stream.output.setWriteListener(stream);
+        return stream;
+    }
+
+    /**
+     * Sends an event with the given data.
+     *
+     * <p>The data must not contain line breaks.
+     *
+     * @return {@code true} if the event is sent or queued, {@code false} if the stream is closed
+     */
+    synchronized boolean send(String data) {
+        return send(null, data);
+    }
+
+    /**
+     * Sends an event with the given ID and data.
+     *
+     * @see #send(String)
+     */
+    synchronized boolean send(@Nullable String id, String data) {
+        if (closed) {
+            return false;
+        }
+        if (pending.size() >= MAX_PENDING) {
+            close();
+            return false;
+        }
+        StringBuilder event = new StringBuilder();
+        if (id != null) {
+            event.append("id: ")
+                 .append(id)
+                 .append('\n');
+        }
+        event.append("data: ")
+             .append(data)
+             .append("\n\n");
+        pending.add(event.toString()
+                         .getBytes(UTF_8));
+        drain();
+        return !closed;
+    }
+
+    @Override
+    public synchronized void onWritePossible() {
+        drain();
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        close();
+    }
+
+    /**
+     * Registers an action to run when the stream is closed.
+     *
+     * <p>If the stream is already closed, runs the action immediately.
+     */
+    void onClose(Runnable action) {
+        synchronized (this) {
+            if (!closed) {
+                closeActions.add(action);
+                return;
+            }
+        }
+        action.run();
+    }
+
+    /**
+     * Closes the stream and completes the response.
+     */
+    void close() {
+        List<Runnable> actions;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            pending.clear();
+            actions = new ArrayList<>(closeActions);
+            closeActions.clear();
+        }
+        actions.forEach(Runnable::run);
+        try {
+            async.complete();
+        } catch (IllegalStateException ignored) {
+            // The response is already completed by the container.
+        }
+    }
+
+    private void drain() {
+        if (closed) {
+            return;
+        }
+        try {
+            while (output.isReady()) {
+                byte[] event = pending.poll();
+                if (event == null) {
+                    output.flush();
+                    return;
+                }
+                output.write(event);
+            }
+        } catch (IOException e) {
+            close();
+        }
+    }
+
+    /**
+     * Closes the stream when the asynchronous operation ends.
+     */
+    private final class Closer implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            close();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            close();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            close();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Nothing to do.
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.web;
+
+import io.spine.examples.blog.server.metrics.MetricId;
+import io.spine.examples.blog.server.metrics.MetricRegistry;
+import io.spine.examples.blog.server.metrics.MetricsReporter;
+import io.spine.examples.blog.server.metrics.Summary;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * The {@code /metrics} servlet.
+ *
+ * <p>Reports the {@linkplain MetricRegistry#shared() metrics} of the Blog context in
+ * the Prometheus text exposition format.
+ */
+@SuppressWarnings("serial")
+@WebServlet("/metrics")
+public final class MetricsServlet extends HttpServlet {
+
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        PrometheusText text = new PrometheusText();
+        MetricRegistry.shared()
+                      .report(text);
+        resp.setContentType(CONTENT_TYPE);
+        resp.getWriter()
+            .write(text.toString());
+    }
+
+    /**
+     * Writes the reported metrics in the Prometheus text format.
+     */
+    private static final class PrometheusText implements MetricsReporter {
+
+        private final StringBuilder text = new StringBuilder();
+        private @Nullable String lastName;
+
+        @Override
+        public void summary(MetricId id, Summary summary) {
+            type(id, "summary");
+            for (Map.Entry<Double, Double> quantile : summary.quantiles()
+                                                             .entrySet()) {
+                sample(id.name(), id, quantile.getKey()
+                                                .toString(), quantile.getValue());
+            }
+            sample(id.name() + "_sum", id, null, summary.sum());
+            sample(id.name() + "_count", id, null, summary.count());
+        }
+
+        @Override
+        public void counter(MetricId id, long value) {
+            type(id, "counter");
+            sample(id.name(), id, null, value);
+        }
+
+        @Override
+        public void gauge(MetricId id, long value) {
+            type(id, "gauge");
+            sample(id.name(), id, null, value);
+        }
+
+        private void type(MetricId id, String type) {
+            if (!id.name()
+                   .equals(lastName)) {
+                lastName = id.name();
+                text.append("# TYPE ")
+                    .append(lastName)
+                    .append(' ')
+                    .append(type)
+                    .append('\n');
+            }
+        }
+
+        private void sample(String name, MetricId id, @Nullable String quantile, double value) {
+            text.append(name);
+            Map<String, String> labels = id.labels();
+            if (!labels.isEmpty() || quantile != null) {
+                text.append('{');
+                String separator = "";
+                for (Map.Entry<String, String> label : labels.entrySet()) {
+                    label(separator, label.getKey(), label.getValue());
+                    separator = ",";
+                }
+                if (quantile != null) {
+                    label(separator, "quantile", quantile);
+                }
+                text.append('}');
+            }
+            text.append(' ')
+                .append(value)
+                .append('\n');
+        }
+
+        private void label(String separator, String name, String value) {
+            text.append(separator)
+                .append(name)
+                .append("=\"")
+                .append(escape(value))
+                .append('"');
+        }
+
+        private static String escape(String value) {
+            return value.replace("\\", "\\\\")
+                        .replace("\"", "\\\"")
+                        .replace("\n", "\\n");
+        }
+
+        @Override
+        public String toString() {
+            return text.toString();
+        }
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.web;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.google.protobuf.Any;
+import com.google.protobuf.Message;
+import io.spine.client.Query;
+import io.spine.client.Target;
+import io.spine.core.Version;
+import io.spine.examples.blog.BlogView;
+import io.spine.examples.blog.server.blog.BlogViewListener;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+import static com.google.common.base.Throwables.throwIfUnchecked;
+import static io.spine.protobuf.AnyPacker.pack;
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
+
+/**
+ * A cache of the results of {@link BlogView} queries.
+ *
+ * <p>A query is cached by its {@linkplain ViewQueries#normalize(Query) normalized} form, so that
+ * equivalent queries share an entry. Only the queries which select views by IDs or select all
+ * the views are cached. The least recently used entries are evicted once
+ * the cache holds {@code maximumSize} of them.
+ *
+ * <p>The changes of the views are counted in a fixed number of stripes, each shared by
+ * the views whose IDs hash to it. A cached result keeps the sum of the counters of the views it
+ * may contain, taken before the result was loaded: the counters of the stripes of the IDs it
+ * selects, or the counter of all the changes for the queries which select all the views.
+ * A cached result is served only while the sum stays the same. Otherwise, the result is loaded
+ * again. A view which changes during the load thus never leaves a stale result in the cache.
+ *
+ * @param <T>
+ *         the type of the cached query results
+ */
+final class QueryCache<T extends Message> implements BlogViewListener {
+
+    /** The number of the stripes of the view change counters. */
+    private static final int STRIPES = 4096;
+
+    private final Cache<Query, Entry<T>> results;
+
+    /** The number of changes of the views per stripe of their IDs. */
+    private final AtomicLongArray changes = new AtomicLongArray(STRIPES);
+
+    /** The number of changes of all the views. */
+    private final AtomicLong allChanges = new AtomicLong();
+
+    QueryCache(long maximumSize) {
+        this.results = CacheBuilder
+                .newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Obtains the cached result of the query or loads and caches it.
+     *
+     * <p>The queries which cannot be cached are always loaded.
+     */
+    T get(Query query, Supplier<T> loader) {
+        Optional<Query> key = ViewQueries.normalize(query);
+        if (!key.isPresent()) {
+            return loader.get();
+        }
+        Query cacheKey = key.get();
+        long changesBefore = changesOf(cacheKey);
+        ConcurrentMap<Query, Entry<T>> entries = results.asMap();
+        Entry<T> cached = entries.get(cacheKey);
+        if (cached != null && cached.changes != changesBefore) {
+            entries.remove(cacheKey, cached);
+        }
+        Entry<T> entry;
+        try {
+            entry = results.get(cacheKey, () -> new Entry<>(loader.get(), changesBefore));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            throwIfUnchecked(e.getCause());
+            throw illegalStateWithCauseOf(e.getCause());
+        }
+        return entry.changes == changesBefore
+               ? entry.result
+               : loader.get();
+    }
+
+    @Override
+    public void onStored(BlogView view, Version version) {
+        changes.incrementAndGet(stripeOf(pack(view.getId())));
+        allChanges.incrementAndGet();
+    }
+
+    /**
+     * Obtains the statistics of the cache hits and misses.
+     */
+    CacheStats stats() {
+        return results.stats();
+    }
+
+    /**
+     * Obtains the number of entries in the cache.
+     */
+    long size() {
+        return results.size();
+    }
+
+    private long changesOf(Query key) {
+        Target target = key.getTarget();
+        if (target.getIncludeAll()) {
+            return allChanges.get();
+        }
+        long sum = 0;
+        for (Any id : ViewQueries.ids(target)) {
+            sum += changes.get(stripeOf(id));
+        }
+        return sum;
+    }
+
+    private static int stripeOf(Any id) {
+        return Math.floorMod(id.hashCode(), STRIPES);
+    }
+
+    /**
+     * A cached query result along with the number of changes of the views it may contain.
+     */
+    private static final class Entry<T> {
+
+        private final T result;
+        private final long changes;
+
+        private Entry(T result, long changes) {
+            this.result = result;
+            this.changes = changes;
+        }
+    }
+}
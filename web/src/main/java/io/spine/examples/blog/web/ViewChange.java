@@ -0,0 +1,155 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.web;
+
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.protobuf.Message;
+import io.spine.examples.blog.BlogView;
+import io.spine.examples.blog.stream.BlogViewDelta;
+import io.spine.examples.blog.stream.BlogViewPatch;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import static io.spine.json.Json.toCompactJson;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A change of a {@link BlogView} to be pushed to the clients.
+ *
+ * <p>The change is encoded lazily in each of the forms, and at most once per form, regardless of
+ * the number of the clients receiving it.
+ */
+final class ViewChange {
+
+    private final BlogView view;
+    private final int version;
+    private final int baseVersion;
+    private final @Nullable BlogViewPatch patch;
+    private final Supplier<Frame> state = Suppliers.memoize(this::encodeState);
+    private final Supplier<Frame> snapshot = Suppliers.memoize(this::encodeSnapshot);
+    private final Supplier<Frame> delta = Suppliers.memoize(this::encodeDelta);
+
+    /**
+     * Creates the change from the previous state of the view.
+     *
+     * @param previous
+     *         the previous change of the view or {@code null} if the previous state is unknown
+     */
+    ViewChange(BlogView view, int version, @Nullable ViewChange previous) {
+        this.view = view;
+        this.version = version;
+        this.baseVersion = previous == null ? -1 : previous.version;
+        this.patch = previous == null
+                     ? null
+                     : BlogViewPatches.diff(previous.view, view)
+                                      .orElse(null);
+    }
+
+    int version() {
+        return version;
+    }
+
+    /**
+     * Checks if the change can be sent as a patch to a client which has the state of
+     * the given version.
+     */
+    boolean patches(int clientVersion) {
+        return patch != null && baseVersion == clientVersion;
+    }
+
+    /**
+     * Obtains the event with the whole {@link BlogView} state.
+     */
+    Frame state() {
+        return state.get();
+    }
+
+    /**
+     * Obtains the event with the {@link BlogViewDelta} which contains the whole state.
+     */
+    Frame snapshot() {
+        return snapshot.get();
+    }
+
+    /**
+     * Obtains the event with the {@link BlogViewDelta} which contains the patch.
+     *
+     * <p>Must be sent only to the clients which the change {@linkplain #patches(int) patches}.
+     */
+    Frame delta() {
+        return delta.get();
+    }
+
+    private Frame encodeState() {
+        return encode(view);
+    }
+
+    private Frame encodeSnapshot() {
+        BlogViewDelta message = BlogViewDelta
+                .newBuilder()
+                .setId(view.getId())
+                .setVersion(version)
+                .setSnapshot(view)
+                .build();
+        return encode(message);
+    }
+
+    private Frame encodeDelta() {
+        BlogViewDelta.Builder message = BlogViewDelta
+                .newBuilder()
+                .setId(view.getId())
+                .setVersion(version)
+                .setBaseVersion(baseVersion);
+        if (patch != null) {
+            message.setPatch(patch);
+        }
+        return encode(message.build());
+    }
+
+    private Frame encode(Message data) {
+        String event = "id: " + version + '\n'
+                + "data: " + toCompactJson(data) + "\n\n";
+        return new Frame(event.getBytes(UTF_8));
+    }
+
+    /**
+     * An encoded Server-Sent Event.
+     */
+    static final class Frame {
+
+        private final byte[] bytes;
+
+        private Frame(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        @SuppressWarnings("ReturnOfArray") // The frames are shared by the streams for efficiency.
+        byte[] bytes() {
+            return bytes;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.web;
+
+import com.google.protobuf.Any;
+import com.google.protobuf.FieldMask;
+import io.spine.client.IdFilter;
+import io.spine.client.Query;
+import io.spine.client.ResponseFormat;
+import io.spine.client.Target;
+import io.spine.client.TargetFilters;
+import io.spine.examples.blog.BlogView;
+import io.spine.type.TypeUrl;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Utilities for working with the {@link BlogView} queries.
+ */
+final class ViewQueries {
+
+    private static final String VIEW_TYPE = TypeUrl.of(BlogView.class).value();
+    private static final Comparator<Any> ID_ORDER =
+            Comparator.comparing(Any::getTypeUrl)
+                      .thenComparing(id -> id.getValue().toStringUtf8());
+
+    /** Prevents the utility class instantiation. */
+    private ViewQueries() {
+    }
+
+    /**
+     * Normalizes the {@code BlogView} query.
+     *
+     * <p>The normalized query contains only the target and the response format, with the IDs and
+     * the field mask paths sorted, so that equivalent queries are equal.
+     *
+     * @return the normalized query or {@code Optional.empty()} if the query does not select
+     *         the views by IDs or all the views
+     */
+    static Optional<Query> normalize(Query query) {
+        Target target = query.getTarget();
+        if (!VIEW_TYPE.equals(target.getType())) {
+            return Optional.empty();
+        }
+        TargetFilters filters = target.getFilters();
+        if (filters.getFilterCount() > 0) {
+            return Optional.empty();
+        }
+        List<Any> ids = new ArrayList<>(filters.getIdFilter()
+                                               .getIdList());
+        ids.sort(ID_ORDER);
+        Target normalTarget = target
+                .toBuilder()
+                .setFilters(filters.toBuilder()
+                                   .setIdFilter(IdFilter.newBuilder()
+                                                        .addAllId(ids)))
+                .build();
+        ResponseFormat format = query.getFormat();
+        List<String> paths = new ArrayList<>(format.getFieldMask()
+                                                   .getPathsList());
+        paths.sort(null);
+        ResponseFormat normalFormat = format
+                .toBuilder()
+                .setFieldMask(FieldMask.newBuilder()
+                                       .addAllPaths(paths))
+                .build();
+        Query normal = Query
+                .newBuilder()
+                .setTarget(normalTarget)
+                .setFormat(normalFormat)
+                .build();
+        return Optional.of(normal);
+    }
+
+    /**
+     * Obtains the IDs of the views selected by the target.
+     */
+    static List<Any> ids(Target target) {
+        return target.getFilters()
+                     .getIdFilter()
+                     .getIdList();
+    }
+}
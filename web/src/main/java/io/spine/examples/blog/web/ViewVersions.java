@@ -0,0 +1,100 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.web;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.protobuf.Any;
+import io.spine.client.Query;
+import io.spine.client.Target;
+import io.spine.core.Version;
+import io.spine.examples.blog.BlogView;
+import io.spine.examples.blog.server.blog.BlogViewListener;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static io.spine.protobuf.AnyPacker.pack;
+
+/**
+ * The versions of the {@link BlogView}s, used to tag the responses to the view queries.
+ *
+ * <p>The {@linkplain #etagOf(Query) entity tag} of a query which selects the views by IDs is
+ * derived from the query and the versions of the selected views. Thus, it changes only when one
+ * of the views changes and is the same across the application restarts which restore the views.
+ *
+ * <p>The tag of a query for all the views is derived from the number of view changes since
+ * the application start and a random epoch of the application instance.
+ */
+final class ViewVersions implements BlogViewListener {
+
+    /** The version numbers of the views by their IDs. */
+    private final Map<Any, Integer> versions = new ConcurrentHashMap<>();
+
+    /** The number of changes of all the views. */
+    private final AtomicLong allChanges = new AtomicLong();
+
+    private final long epoch = ThreadLocalRandom.current().nextLong();
+
+    @Override
+    public void onStored(BlogView view, Version version) {
+        Any id = pack(view.getId());
+        versions.merge(id, version.getNumber(), Math::max);
+        allChanges.incrementAndGet();
+    }
+
+    /**
+     * Obtains the strong entity tag of the current result of the query.
+     *
+     * @return the quoted entity tag or {@code Optional.empty()} if the query is not
+     *         a {@code BlogView} query which selects the views by IDs or all the views
+     */
+    Optional<String> etagOf(Query query) {
+        Optional<Query> normal = ViewQueries.normalize(query);
+        if (!normal.isPresent()) {
+            return Optional.empty();
+        }
+        Query key = normal.get();
+        Hasher hasher = Hashing.murmur3_128()
+                               .newHasher()
+                               .putBytes(key.toByteArray());
+        Target target = key.getTarget();
+        if (target.getIncludeAll()) {
+            hasher.putLong(epoch)
+                  .putLong(allChanges.get());
+        } else {
+            for (Any id : ViewQueries.ids(target)) {
+                hasher.putInt(versions.getOrDefault(id, 0));
+            }
+        }
+        String etag = '"' + hasher.hash().toString() + '"';
+        return Optional.of(etag);
+    }
+}
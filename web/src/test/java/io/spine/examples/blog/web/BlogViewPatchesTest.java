@@ -0,0 +1,161 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.web;
+
+import com.google.common.collect.ImmutableList;
+import io.spine.examples.blog.BlogId;
+import io.spine.examples.blog.BlogView;
+import io.spine.examples.blog.PostId;
+import io.spine.examples.blog.PostSummary;
+import io.spine.examples.blog.stream.BlogViewPatch;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.examples.blog.server.blog.BlogPages.PAGE_SIZE;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("BlogViewPatches should")
+class BlogViewPatchesTest {
+
+    private final BlogId blog = BlogId.generate();
+
+    @Test
+    @DisplayName("express inserted posts")
+    void insert() {
+        PostSummary first = post("First");
+        PostSummary second = post("Second");
+        PostSummary third = post("Third");
+        BlogView before = view("Blog", 1, first);
+        BlogView after = view("Blog", 3, third, second, first);
+
+        BlogViewPatch patch = diff(before, after);
+
+        assertThat(patch.getInsertedPostList())
+                .containsExactly(third, second)
+                .inOrder();
+        assertThat(patch.getRemovedPostCount()).isEqualTo(0);
+        assertThat(patch.getPublishedCount()).isEqualTo(3);
+        assertThat(patch.getTitle()).isEmpty();
+        assertThat(BlogViewPatches.apply(before, patch)).isEqualTo(after);
+    }
+
+    @Test
+    @DisplayName("express the posts trimmed from a full page")
+    void trim() {
+        ImmutableList.Builder<PostSummary> posts = ImmutableList.builder();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            posts.add(post("Post " + i));
+        }
+        List<PostSummary> page = posts.build();
+        PostSummary latest = post("Latest");
+        BlogView before = view("Blog", PAGE_SIZE, page);
+        BlogView after = view("Blog", PAGE_SIZE + 1, ImmutableList.<PostSummary>builder()
+                .add(latest)
+                .addAll(page.subList(0, PAGE_SIZE - 1))
+                .build());
+
+        BlogViewPatch patch = diff(before, after);
+
+        assertThat(patch.getInsertedPostList()).containsExactly(latest);
+        assertThat(patch.getRemovedPostCount()).isEqualTo(1);
+        assertThat(BlogViewPatches.apply(before, patch)).isEqualTo(after);
+    }
+
+    @Test
+    @DisplayName("express a changed title")
+    void changeTitle() {
+        PostSummary post = post("Post");
+        BlogView before = view("Old title", 1, post);
+        BlogView after = view("New title", 1, post);
+
+        BlogViewPatch patch = diff(before, after);
+
+        assertThat(patch.getTitle()).isEqualTo("New title");
+        assertThat(patch.getInsertedPostList()).isEmpty();
+        assertThat(patch.getRemovedPostCount()).isEqualTo(0);
+        assertThat(BlogViewPatches.apply(before, patch)).isEqualTo(after);
+    }
+
+    @Test
+    @DisplayName("not express a change of a kept post")
+    void notPatchChangedPost() {
+        PostSummary first = post("First");
+        PostSummary second = post("Second");
+        PostSummary renamed = first.toBuilder()
+                                   .setTitle("Renamed")
+                                   .build();
+        BlogView before = view("Blog", 2, second, first);
+        BlogView after = view("Blog", 3, post("Third"), second, renamed);
+
+        assertFalse(BlogViewPatches.diff(before, after).isPresent());
+    }
+
+    @Test
+    @DisplayName("not express a cleared title")
+    void notPatchClearedTitle() {
+        PostSummary post = post("Post");
+        BlogView before = view("Blog", 1, post);
+        BlogView after = view("", 1, post);
+
+        assertFalse(BlogViewPatches.diff(before, after).isPresent());
+    }
+
+    private static BlogViewPatch diff(BlogView before, BlogView after) {
+        Optional<BlogViewPatch> patch = BlogViewPatches.diff(before, after);
+        assertTrue(patch.isPresent());
+        return patch.get();
+    }
+
+    private BlogView view(String title, int publishedCount, PostSummary... posts) {
+        return view(title, publishedCount, ImmutableList.copyOf(posts));
+    }
+
+    private BlogView view(String title, int publishedCount, List<PostSummary> posts) {
+        return BlogView
+                .newBuilder()
+                .setId(blog)
+                .setTitle(title)
+                .setPublishedCount(publishedCount)
+                .addAllPost(posts)
+                .build();
+    }
+
+    private static PostSummary post(String title) {
+        return PostSummary
+                .newBuilder()
+                .setId(PostId.generate())
+                .setTitle(title)
+                .setExcerpt(title + " excerpt")
+                .setBodyLength(title.length())
+                .build();
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2022, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.blog.web;
+
+import io.spine.examples.blog.BlogId;
+import io.spine.examples.blog.BlogView;
+import io.spine.examples.blog.PostId;
+import io.spine.examples.blog.PostSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.examples.blog.web.BlogViewStream.MAX_PENDING;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+@DisplayName("BlogViewStream should")
+class BlogViewStreamTest {
+
+    private final BlogId blog = BlogId.generate();
+    private BlogView view;
+    private ViewChange last;
+    private Output output;
+
+    @BeforeEach
+    void setUp() {
+        view = BlogView
+                .newBuilder()
+                .setId(blog)
+                .setTitle("Stream Test Blog")
+                .build();
+        last = null;
+        output = new Output();
+    }
+
+    @Test
+    @DisplayName("start a client of an unknown version with a snapshot")
+    void catchUpUnknown() {
+        List<ViewChange> recent = publish(3);
+        BlogViewStream stream = stream(true, -1);
+
+        stream.catchUp(recent);
+
+        assertThat(output.text()).isEqualTo(text(recent.get(0).snapshot(),
+                                                 recent.get(1).delta(),
+                                                 recent.get(2).delta()));
+    }
+
+    @Test
+    @DisplayName("start a client of a version newer than the latest with a snapshot")
+    void catchUpNewer() {
+        List<ViewChange> recent = publish(3);
+        BlogViewStream stream = stream(true, last.version() + 5);
+
+        stream.catchUp(recent);
+
+        assertThat(output.text()).isEqualTo(text(recent.get(0).snapshot(),
+                                                 recent.get(1).delta(),
+                                                 recent.get(2).delta()));
+    }
+
+    @Test
+    @DisplayName("send only the changes the client does not have")
+    void catchUpKnown() {
+        List<ViewChange> recent = publish(3);
+        BlogViewStream stream = stream(true, recent.get(1).version());
+
+        stream.catchUp(recent);
+
+        assertThat(output.text()).isEqualTo(text(recent.get(2).delta()));
+    }
+
+    @Test
+    @DisplayName("send nothing to an up-to-date client")
+    void catchUpLatest() {
+        List<ViewChange> recent = publish(3);
+        BlogViewStream stream = stream(true, last.version());
+
+        stream.catchUp(recent);
+
+        assertThat(output.text()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("send a snapshot if the change cannot be patched")
+    void snapshotUnpatchable() {
+        List<ViewChange> recent = publish(1);
+        BlogViewStream stream = stream(true, last.version());
+        stream.catchUp(recent);
+        view = view.toBuilder()
+                   .setTitle("")
+                   .build();
+        ViewChange change = change();
+
+        stream.offer(change);
+
+        assertThat(output.text()).isEqualTo(text(change.snapshot()));
+    }
+
+    @Test
+    @DisplayName("replace the pending deltas with a snapshot when the client falls behind")
+    void snapshotSlowClient() {
+        List<ViewChange> recent = publish(1);
+        BlogViewStream stream = stream(true, last.version());
+        stream.catchUp(recent);
+        output.ready = false;
+
+        publish(MAX_PENDING + 1).forEach(stream::offer);
+        output.ready = true;
+        stream.onWritePossible();
+
+        assertThat(output.text()).isEqualTo(text(last.snapshot()));
+    }
+
+    @Test
+    @DisplayName("send only the latest state to a slow client")
+    void skipStates() {
+        List<ViewChange> recent = publish(3);
+        BlogViewStream stream = stream(false, -1);
+        output.ready = false;
+
+        stream.catchUp(recent);
+        output.ready = true;
+        stream.onWritePossible();
+
+        assertThat(output.text()).isEqualTo(text(last.state()));
+    }
+
+    private BlogViewStream stream(boolean deltas, int clientVersion) {
+        AsyncContext async = (AsyncContext) Proxy.newProxyInstance(
+                AsyncContext.class.getClassLoader(),
+                new Class<?>[]{AsyncContext.class},
+                (proxy, method, args) -> null
+        );
+        return new BlogViewStream(async, output, deltas, clientVersion);
+    }
+
+    /**
+     * Publishes the given number of posts and returns the changes of the view.
+     */
+    private List<ViewChange> publish(int count) {
+        List<ViewChange> changes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            PostSummary post = PostSummary
+                    .newBuilder()
+                    .setId(PostId.generate())
+                    .setTitle("Post " + (view.getPublishedCount() + 1))
+                    .build();
+            view = view.toBuilder()
+                       .addPost(0, post)
+                       .setPublishedCount(view.getPublishedCount() + 1)
+                       .build();
+            changes.add(change());
+        }
+        return changes;
+    }
+
+    private ViewChange change() {
+        int version = last == null ? 0 : last.version() + 1;
+        last = new ViewChange(view, version, last);
+        return last;
+    }
+
+    private static String text(ViewChange.Frame... frames) {
+        StringBuilder result = new StringBuilder();
+        for (ViewChange.Frame frame : frames) {
+            result.append(new String(frame.bytes(), UTF_8));
+        }
+        return result.toString();
+    }
+
+    /**
+     * The output of a response which records the written data.
+     */
+    private static final class Output extends ServletOutputStream {
+
+        private final ByteArrayOutputStream written = new ByteArrayOutputStream();
+        private boolean ready = true;
+
+        @Override
+        public boolean isReady() {
+            return ready;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            // The stream is notified by the tests.
+        }
+
+        @Override
+        public void write(int b) {
+            written.write(b);
+        }
+
+        private String text() {
+            return new String(written.toByteArray(), UTF_8);
+        }
+    }
+}